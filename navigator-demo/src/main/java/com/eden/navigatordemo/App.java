@@ -5,15 +5,24 @@ import com.eden.navigatordemo.controllers.AccessDeniedPage;
 import com.eden.navigatordemo.controllers.JavaUi;
 import com.eden.navigatordemo.utils.AuthService;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
+import java.time.Duration;
+import java.util.List;
+import com.eden.navigatorfx.v2.DeepLinks;
 import com.eden.navigatorfx.v2.Navigator;
 
 import static com.eden.navigatorfx.v2.Navigator.*;
 
 public class App extends Application {
 
+  private static final String APP_ID = "com.eden.navigatordemo";
+
+  private static final MiddlewareResponse NOT_AUTHORIZED =
+      MiddlewareResponse.redirect("/login", "You are not authorized");
+
   @Override
   public void start(Stage primaryStage) {
     // Initialize the Navigator
@@ -38,22 +47,44 @@ public class App extends Application {
                         return RouteGuardResponse.block("Access Denied");
                       }
                     })
+                    .cacheGuard(Duration.ofMinutes(5))
                 /*.redirectTo("/access-denied")*/,
-                route("/profile", "/views/profile.fxml"),
+                route("/profile", "/views/profile.fxml")
+                    .recycle(),
                 route("/java-demo", JavaUi::new),
                 route("/access-denied", AccessDeniedPage::new)
             )
+            .tag("secured")
 
     );
-    Navigator.middleware(request -> {
-      if (AuthService.isAuthenticated() || request.url().equals("/login")) {
-        return Navigator.MiddlewareResponse.proceed();
+    // Cached guard decisions are kept per user, AuthService invalidates them on login/logout
+    Navigator.setPrincipalSupplier(AuthService::getCurrentUser);
+    // Only routes of the secured layout run the auth check, /login never does
+    Navigator.middlewareForTag("secured", request -> {
+      if (AuthService.isAuthenticated()) {
+        return MiddlewareResponse.proceed();
       }
-      return Navigator.MiddlewareResponse.redirect("/login", "You are not authorized");
+      return NOT_AUTHORIZED;
     });
+    // Links passed to later launches, e.g. "navigator-demo://profile", open here
+    try {
+      Navigator.listenForDeepLinks(APP_ID);
+    } catch (IllegalStateException e) {
+      // Another launch started listening first: hand it our link and quit
+      DeepLinks.forwardToRunningInstance(APP_ID, firstArgument(getParameters().getRaw()));
+      Platform.exit();
+    }
   }
 
   public static void main(String[] args) {
+    // Without a link, the running instance is only brought to the front
+    if (DeepLinks.forwardToRunningInstance(APP_ID, firstArgument(List.of(args)))) {
+      return;
+    }
     launch(args);
   }
+
+  private static String firstArgument(List<String> args) {
+    return args.isEmpty() ? "" : args.get(0);
+  }
 }
\ No newline at end of file
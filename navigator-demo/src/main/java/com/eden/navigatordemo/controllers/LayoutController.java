@@ -1,16 +1,15 @@
 package com.eden.navigatordemo.controllers;
 
 import com.eden.navigatordemo.utils.AuthService;
+import com.eden.navigatorfx.v2.KeepAliveOutlet;
 import com.eden.navigatorfx.v2.Navigator;
 import com.eden.navigatorfx.v2.layout.NavLayout;
-import javafx.animation.FadeTransition;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.Parent;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.BorderPane;
-import javafx.util.Duration;
 
 import java.net.URL;
 import java.util.ResourceBundle;
@@ -20,19 +19,17 @@ public class LayoutController implements NavLayout, Initializable {
     public ScrollPane contentPanel;
     @FXML
     private BorderPane root;
+    // Keeps the last few pages attached, switching back to one only flips its visibility
+    private final KeepAliveOutlet outlet = new KeepAliveOutlet(4);
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-
+        contentPanel.setContent(outlet);
     }
 
     @Override
     public void setContent(Parent content) {
-        contentPanel.setContent(content);
-        FadeTransition fadeTransition = new FadeTransition(Duration.seconds(0.3), content);
-        fadeTransition.setFromValue(0);
-        fadeTransition.setToValue(1);
-        fadeTransition.play();
+        outlet.setContent(content);
     }
 
     public void navigateHome(ActionEvent event) {
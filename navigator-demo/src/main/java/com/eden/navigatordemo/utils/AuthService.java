@@ -1,5 +1,7 @@
 package com.eden.navigatordemo.utils;
 
+import com.eden.navigatorfx.v2.Navigator;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,6 +26,7 @@ public class AuthService {
         User user = users.get(username);
         if (user != null && user.password().equals(password)) {
             currentUser = user;
+            Navigator.invalidateGuards(user);
             return true;
         }
         return false;
@@ -49,6 +52,7 @@ public class AuthService {
      * Logs out the current user.
      */
     public static void logout() {
+        Navigator.invalidateGuards(currentUser);
         currentUser = null;
     }
 
@@ -1,12 +1,20 @@
 package com.eden.navigatorfx.v2;
 
+import javafx.animation.Animation;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.fxml.FXML;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+
 public abstract class BaseController {
 
     private final ObjectProperty<NavRequest> requestProperty = new SimpleObjectProperty<>();
+    private final List<Animation> pausableAnimations = new ArrayList<>();
+    private final List<Animation> pausedAnimations = new ArrayList<>();
+    private boolean paused;
 
     public BaseController() {
         // Constructor remains empty or can include essential setup
@@ -41,4 +49,66 @@ public abstract class BaseController {
     protected void onInitialize() {
         // Can be overridden by child classes if needed
     }
-}
\ No newline at end of file
+
+    /**
+     * Called when the view is hidden and kept by the Navigator for reuse, e.g. a pooled dialog.
+     * Override to reset transient UI state before the next request is delivered.
+     */
+    protected void onRecycle() {
+        // Can be overridden by child classes if needed
+    }
+
+    /**
+     * Called after {@link Navigator#setLocale(java.util.Locale)} translated the view's texts that came
+     * from its resource bundle. Override to update texts the controller builds itself.
+     */
+    protected void onLocaleChanged(ResourceBundle bundle) {
+        // Can be overridden by child classes if needed
+    }
+
+    /**
+     * Called when the view is kept hidden by a {@link KeepAliveOutlet}. Override to detach listeners
+     * or stop work that only matters while the view is visible.
+     */
+    protected void onPause() {
+        // Can be overridden by child classes if needed
+    }
+
+    /**
+     * Called when a view paused by a {@link KeepAliveOutlet} is shown again.
+     */
+    protected void onResume() {
+        // Can be overridden by child classes if needed
+    }
+
+    /**
+     * Registers an animation to pause while the view is hidden and to resume when it is shown again.
+     */
+    protected void pauseWhenHidden(Animation animation) {
+        pausableAnimations.add(animation);
+    }
+
+    void pause() {
+        if (paused) {
+            return;
+        }
+        paused = true;
+        for (Animation animation : pausableAnimations) {
+            if (animation.getStatus() == Animation.Status.RUNNING) {
+                animation.pause();
+                pausedAnimations.add(animation);
+            }
+        }
+        onPause();
+    }
+
+    void resume() {
+        if (!paused) {
+            return;
+        }
+        paused = false;
+        pausedAnimations.forEach(Animation::play);
+        pausedAnimations.clear();
+        onResume();
+    }
+}
@@ -0,0 +1,83 @@
+package com.eden.navigatorfx.v2;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.TextArea;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Small utility window showing Navigator diagnostics, refreshed every second while visible. It lives
+ * in its own stage so it survives the primary scene's root being replaced on navigation.
+ */
+class DebugOverlay {
+    private static final long REFRESH_MILLIS = 1000;
+
+    private final Supplier<String> content;
+    private final PulseMonitor pulseMonitor;
+    private Stage stage;
+    private TextArea text;
+    private ScheduledExecutorService refresher;
+
+    DebugOverlay(Supplier<String> content, PulseMonitor pulseMonitor) {
+        this.content = content;
+        this.pulseMonitor = pulseMonitor;
+    }
+
+    /**
+     * Shows the window for the owner stage, timing the pulses of its scene, or hides it if visible.
+     */
+    void toggle(Stage owner) {
+        if (stage != null && stage.isShowing()) {
+            stage.hide();
+        } else {
+            show(owner);
+        }
+    }
+
+    private void show(Stage owner) {
+        if (stage == null) {
+            text = new TextArea();
+            text.setEditable(false);
+            text.setStyle("-fx-font-family: monospace; -fx-font-size: 11px;");
+            stage = new Stage();
+            stage.initStyle(StageStyle.UTILITY);
+            stage.initOwner(owner);
+            stage.setTitle("Navigator diagnostics");
+            stage.setScene(new Scene(text, 560, 480));
+            // Only refresh while visible, the overlay must cost nothing when closed
+            stage.setOnHidden(event -> stopRefreshing());
+        }
+        pulseMonitor.attach(owner.getScene());
+        refresh();
+        stage.show();
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "navigator-debug-overlay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleAtFixedRate(() -> Platform.runLater(this::refresh),
+                                      REFRESH_MILLIS, REFRESH_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    void describePulses(StringBuilder out) {
+        pulseMonitor.describe(out);
+    }
+
+    private void refresh() {
+        text.setText(content.get());
+    }
+
+    private void stopRefreshing() {
+        pulseMonitor.detach();
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+}
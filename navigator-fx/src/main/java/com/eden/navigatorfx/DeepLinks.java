@@ -0,0 +1,251 @@
+package com.eden.navigatorfx.v2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Single-instance deep links over a Unix domain socket. The running instance listens on a socket
+ * named after the application id; a second launch hands its link to it and exits before starting
+ * JavaFX, instead of opening another window in a new JVM. A launch without a link hands over an
+ * empty one, which only brings the running instance to the front.
+ *
+ * <pre>{@code
+ * public static void main(String[] args) {
+ *     if (DeepLinks.forwardToRunningInstance("com.acme.crm", args.length > 0 ? args[0] : "")) {
+ *         return;
+ *     }
+ *     launch(args);
+ * }
+ * }</pre>
+ *
+ * The socket lives in {@code $XDG_RUNTIME_DIR}, or else in a directory of the current user in the
+ * temporary directory. Either must be accessible to its owner only, so other users can neither take
+ * the socket's name nor connect to it; links are not exchanged through a directory that isn't.
+ *
+ * The running instance calls {@link Navigator#listenForDeepLinks(String)} once the Navigator is bound.
+ */
+public final class DeepLinks {
+    // A link is a single URL; anything longer is not one of ours
+    private static final int MAX_MESSAGE_BYTES = 8192;
+    // How long a later launch may take to send its link
+    private static final long READ_TIMEOUT_MILLIS = 5000;
+
+    private DeepLinks() {
+    }
+
+    /**
+     * Sends the link to the instance of the application that is already running. An empty link only
+     * brings it to the front.
+     *
+     * @return true if a running instance took the link, false if there is none and this launch should start normally
+     */
+    public static boolean forwardToRunningInstance(String appId, String link) {
+        Path socket = socketPath(appId);
+        try {
+            secureDirectory(socket.getParent());
+        } catch (IOException e) {
+            // Not ours, so whoever listens there isn't either; listen() reports why
+            return false;
+        }
+        if (!Files.exists(socket)) {
+            return false;
+        }
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            ByteBuffer message = StandardCharsets.UTF_8.encode(link);
+            while (message.hasRemaining()) {
+                channel.write(message);
+            }
+            return true;
+        } catch (IOException e) {
+            // A socket file left by a crashed instance, nobody is listening
+            return false;
+        }
+    }
+
+    /**
+     * Turns a link like {@code acme://records/42?tab=notes} into the Navigator URL {@code /records/42?tab=notes}.
+     * Links that already are Navigator URLs are returned as they are.
+     */
+    public static String toRoute(String link) {
+        String route = link.strip();
+        int scheme = route.indexOf(':');
+        int firstSlash = route.indexOf('/');
+        if (scheme > 0 && (firstSlash < 0 || scheme < firstSlash)) {
+            route = route.substring(scheme + 1);
+        }
+        int start = 0;
+        while (start < route.length() && route.charAt(start) == '/') {
+            start++;
+        }
+        return "/" + route.substring(start);
+    }
+
+    /**
+     * The socket of the application, in {@code $XDG_RUNTIME_DIR} or in a directory of the current user
+     * in the temporary directory.
+     */
+    public static Path socketPath(String appId) {
+        return socketDirectory().resolve(appId.replaceAll("[^A-Za-z0-9._-]", "_") + ".sock");
+    }
+
+    private static Path socketDirectory() {
+        String runtimeDirectory = System.getenv("XDG_RUNTIME_DIR");
+        if (runtimeDirectory != null && !runtimeDirectory.isBlank() && Files.isDirectory(Path.of(runtimeDirectory))) {
+            return Path.of(runtimeDirectory);
+        }
+        String user = System.getProperty("user.name").replaceAll("[^A-Za-z0-9._-]", "_");
+        return Path.of(System.getProperty("java.io.tmpdir"), "navigator-" + user);
+    }
+
+    /**
+     * Creates the socket directory accessible to the current user only, or checks that the existing
+     * one is, before any socket is bound or connected in it.
+     *
+     * @throws IOException if the directory belongs to another user or others can access it
+     */
+    private static void secureDirectory(Path directory) throws IOException {
+        try {
+            Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } catch (FileAlreadyExistsException e) {
+            // Checked below, it may have been created by someone else
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system, the temporary directory is per user there
+            Files.createDirectories(directory);
+            return;
+        }
+        PosixFileAttributes attributes = Files.readAttributes(directory, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        UserPrincipal user = directory.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        if (!attributes.isDirectory() || !attributes.owner().equals(user)
+                || !EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_EXECUTE)
+                        .containsAll(attributes.permissions())) {
+            throw new IOException("Deep link directory " + directory + " is not private to " + System.getProperty("user.name"));
+        }
+    }
+
+    /**
+     * Starts listening for links forwarded by later launches. Each link, empty for a plain activation,
+     * is passed to the handler on a thread of the Navigator executor. Closing the returned handle stops listening and
+     * removes the socket file.
+     *
+     * @throws IllegalStateException if another instance of the application is already listening
+     * @throws IOException           if the socket directory is not private to the current user
+     */
+    static Closeable listen(String appId, Consumer<String> handler) throws IOException {
+        Path socket = socketPath(appId);
+        secureDirectory(socket.getParent());
+        if (Files.exists(socket)) {
+            if (isListening(socket)) {
+                throw new IllegalStateException("Another instance of " + appId + " is already listening on " + socket);
+            }
+            Files.delete(socket);
+        }
+        ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socket));
+        try {
+            // The directory already keeps others out, this keeps the socket private if it is moved
+            Files.setPosixFilePermissions(socket, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system, the temporary directory is per user there
+        }
+        Thread listener = Thread.ofPlatform().daemon().name("navigator-deep-links").start(() -> accept(server, handler));
+        Thread cleanup = new Thread(() -> close(server, socket));
+        Runtime.getRuntime().addShutdownHook(cleanup);
+        return () -> {
+            close(server, socket);
+            listener.interrupt();
+            try {
+                Runtime.getRuntime().removeShutdownHook(cleanup);
+            } catch (IllegalStateException e) {
+                // Already shutting down, the hook closes the socket anyway
+            }
+        };
+    }
+
+    private static boolean isListening(Path socket) {
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socket)).close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Each client is read on a thread of its own, so one that connects and never closes holds up no other link
+    private static void accept(ServerSocketChannel server, Consumer<String> handler) {
+        while (server.isOpen()) {
+            SocketChannel client;
+            try {
+                client = server.accept();
+            } catch (IOException e) {
+                if (server.isOpen()) {
+                    Navigator.reportError(null, e);
+                }
+                continue;
+            }
+            Navigator.executor().execute(() -> receive(client, handler));
+        }
+    }
+
+    private static void receive(SocketChannel client, Consumer<String> handler) {
+        // Closing the channel ends a read still waiting at the deadline; closing it again later is harmless
+        CompletableFuture.delayedExecutor(READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).execute(() -> {
+            try {
+                client.close();
+            } catch (IOException e) {
+                // Nothing left to read from it either way
+            }
+        });
+        try (client) {
+            handler.accept(read(client).strip());
+        } catch (AsynchronousCloseException e) {
+            Navigator.reportError(null, new IOException("Deep link not received within " + READ_TIMEOUT_MILLIS + " ms", e));
+        } catch (IOException | RuntimeException e) {
+            // A bad link must not stop the listener
+            Navigator.reportError(null, e);
+        }
+    }
+
+    private static String read(SocketChannel client) throws IOException {
+        ByteArrayOutputStream message = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        while (client.read(buffer) >= 0) {
+            buffer.flip();
+            message.write(buffer.array(), 0, buffer.limit());
+            buffer.clear();
+            if (message.size() > MAX_MESSAGE_BYTES) {
+                throw new IOException("Deep link longer than " + MAX_MESSAGE_BYTES + " bytes");
+            }
+        }
+        return message.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void close(ServerSocketChannel server, Path socket) {
+        try {
+            server.close();
+            Files.deleteIfExists(socket);
+        } catch (IOException e) {
+            Navigator.reportError(null, e);
+        }
+    }
+}
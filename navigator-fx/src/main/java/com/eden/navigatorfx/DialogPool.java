@@ -0,0 +1,157 @@
+package com.eden.navigatorfx.v2;
+
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Keeps hidden dialog stages per route, together with their scene, view and controller, so
+ * reopening a dialog only re-injects the {@link NavRequest} instead of building a new window.
+ */
+class DialogPool {
+    private final Map<String, Deque<PooledDialog>> idle = new HashMap<>();
+    private int maxIdlePerRoute = 2;
+    // Told about dialogs the pool lets go of, whose views should become garbage
+    private final BiConsumer<String, Parent> dropped;
+    // Whether a route is still registered, checked when one of its dialogs hides
+    private final Predicate<Navigator.Route> registered;
+
+    DialogPool(BiConsumer<String, Parent> dropped, Predicate<Navigator.Route> registered) {
+        this.dropped = dropped;
+        this.registered = registered;
+    }
+
+    @FunctionalInterface
+    interface ViewLoader {
+        Navigator.LoadedView load() throws Exception;
+    }
+
+    void setMaxIdlePerRoute(int maxIdlePerRoute) {
+        if (maxIdlePerRoute < 0) {
+            throw new IllegalArgumentException("Dialog pool size must not be negative");
+        }
+        this.maxIdlePerRoute = maxIdlePerRoute;
+        idle.forEach((url, dialogs) -> {
+            while (dialogs.size() > maxIdlePerRoute) {
+                dropped.accept(url, dialogs.removeLast().loaded.view);
+            }
+        });
+    }
+
+    /**
+     * Takes an idle dialog for the route, or builds a new one with the given loader.
+     * Reused dialogs still need the new request injected into their controller.
+     */
+    PooledDialog acquire(Navigator.Route route, Window owner, ViewLoader loader) throws Exception {
+        Deque<PooledDialog> dialogs = idle.get(route.getFullUrl());
+        PooledDialog dialog = dialogs != null ? dialogs.pollFirst() : null;
+        if (dialog != null) {
+            dialog.reused = true;
+            return dialog;
+        }
+        Navigator.LoadedView loaded = loader.load();
+        Stage stage = new Stage();
+        stage.initModality(route.modality);
+        stage.initOwner(owner);
+        stage.setScene(new Scene(loaded.view));
+        dialog = new PooledDialog(route, stage, loaded);
+        PooledDialog created = dialog;
+        stage.setOnHidden(event -> release(created));
+        return dialog;
+    }
+
+    void forEach(BiConsumer<String, Navigator.LoadedView> action) {
+        idle.forEach((url, dialogs) -> dialogs.forEach(dialog -> action.accept(url, dialog.loaded)));
+    }
+
+    /**
+     * Drops the idle dialogs of a route that no longer exists. Dialogs of the route still showing are
+     * dropped when they hide.
+     */
+    void evict(String url) {
+        Deque<PooledDialog> dialogs = idle.remove(url);
+        if (dialogs != null) {
+            dialogs.forEach(dialog -> dropped.accept(url, dialog.loaded.view));
+        }
+    }
+
+    void clear() {
+        forEach((url, loaded) -> dropped.accept(url, loaded.view));
+        idle.clear();
+    }
+
+    private void release(PooledDialog dialog) {
+        // Reset everything tied to the last showing so the pooled dialog holds no request data
+        if (dialog.result != null) {
+            dialog.result.complete(null);
+        }
+        if (dialog.request != null) {
+            dialog.request.dialog(null);
+        }
+        dialog.result = null;
+        dialog.request = null;
+        dialog.loaded.request = null;
+        if (dialog.loaded.controller instanceof BaseController controller) {
+            controller.onRecycle();
+        }
+        if (!registered.test(dialog.route)) {
+            // The route was removed while the dialog was showing
+            dropped.accept(dialog.route.getFullUrl(), dialog.loaded.view);
+            return;
+        }
+        Deque<PooledDialog> dialogs = idle.computeIfAbsent(dialog.route.getFullUrl(), url -> new ArrayDeque<>());
+        // Recycling routes set their own pool size
+        int max = dialog.route.recycleSize > 0 ? dialog.route.recycleSize : maxIdlePerRoute;
+        if (dialogs.size() < max) {
+            dialogs.addFirst(dialog);
+        } else {
+            dropped.accept(dialog.route.getFullUrl(), dialog.loaded.view);
+        }
+    }
+
+    static class PooledDialog {
+        final Navigator.Route route;
+        final Stage stage;
+        final Navigator.LoadedView loaded;
+        boolean reused;
+        private NavRequest request;
+        private CompletableFuture<Object> result;
+
+        private PooledDialog(Navigator.Route route, Stage stage, Navigator.LoadedView loaded) {
+            this.route = route;
+            this.stage = stage;
+            this.loaded = loaded;
+        }
+
+        void show(NavRequest request, CompletableFuture<Object> result, String title, double width, double height) {
+            this.request = request;
+            this.result = result;
+            request.dialog(this);
+            stage.setTitle(title);
+            stage.setWidth(width);
+            stage.setHeight(height);
+            stage.show();
+            stage.toFront();
+        }
+
+        void close(NavRequest request, Object value) {
+            // Ignore requests from an earlier showing of this dialog
+            if (this.request != request) {
+                return;
+            }
+            if (result != null) {
+                result.complete(value);
+            }
+            stage.hide();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.eden.navigatorfx.v2;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Global error handling: handlers matched most-specific-first, rate limited reporting to an
+ * {@link ErrorSink} off the FX thread, and the global fallback error route.
+ */
+class ErrorPipeline {
+    private static final int MAX_TRACKED_FAILURES = 1024;
+
+    private final Map<Class<? extends Navigator.NavigationException>, Consumer<? super Navigator.NavigationException>> handlers =
+            new LinkedHashMap<>();
+    // Plugin that registered the handler for a type, for handlers registered by plugins
+    private final Map<Class<? extends Navigator.NavigationException>, String> handlerOwners = new HashMap<>();
+    // In access order, so the failure that hasn't recurred for the longest goes first when the map is full
+    private final Map<String, Window> windows = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+            return size() > MAX_TRACKED_FAILURES;
+        }
+    };
+    private final Executor reporter;
+    private volatile ErrorSink sink = ErrorSink.console();
+    private volatile String errorRoute;
+    private volatile int maxPerWindow = 3;
+    private volatile long windowNanos = Duration.ofSeconds(10).toNanos();
+
+    ErrorPipeline(Supplier<? extends Executor> executor) {
+        this.reporter = new SerialExecutor(executor);
+    }
+
+    synchronized void addHandler(Class<? extends Navigator.NavigationException> type,
+                                 Consumer<? super Navigator.NavigationException> handler, String owner) {
+        handlers.put(type, handler);
+        if (owner != null) {
+            handlerOwners.put(type, owner);
+        } else {
+            handlerOwners.remove(type);
+        }
+    }
+
+    synchronized void removeHandlersOwnedBy(String owner) {
+        handlerOwners.entrySet().removeIf(entry -> {
+            if (!owner.equals(entry.getValue())) {
+                return false;
+            }
+            handlers.remove(entry.getKey());
+            return true;
+        });
+    }
+
+    /**
+     * Invokes the global handler registered for the closest class of the exception, if any.
+     */
+    boolean handle(Navigator.NavigationException exception) {
+        Consumer<? super Navigator.NavigationException> handler;
+        synchronized (this) {
+            handler = mostSpecific(handlers, exception.getClass());
+        }
+        if (handler == null) {
+            return false;
+        }
+        handler.accept(exception);
+        return true;
+    }
+
+    void setSink(ErrorSink sink) {
+        this.sink = sink;
+    }
+
+    void setErrorRoute(String errorRoute) {
+        this.errorRoute = errorRoute;
+    }
+
+    String errorRoute() {
+        return errorRoute;
+    }
+
+    void setRateLimit(int maxPerWindow, Duration window) {
+        if (maxPerWindow < 1 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Rate limit must allow at least one report per positive window");
+        }
+        this.maxPerWindow = maxPerWindow;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Reports the failure to the sink on a background thread, unless the same failure was already
+     * reported too often in the current window. Returns false when the failure was rate limited.
+     */
+    boolean report(String url, Throwable error) {
+        String key = error.getClass().getName() + '@' + url;
+        Window window;
+        synchronized (windows) {
+            window = windows.computeIfAbsent(key, ignored -> new Window());
+        }
+        int suppressed = window.admit(System.nanoTime(), maxPerWindow, windowNanos);
+        if (suppressed < 0) {
+            return false;
+        }
+        ErrorSink target = sink;
+        ErrorReport report = new ErrorReport(Instant.now(), url, error, suppressed);
+        reporter.execute(() -> {
+            try {
+                target.report(report);
+            } catch (RuntimeException e) {
+                // Nowhere left to report to
+                System.err.println("Error sink failed: " + e);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Returns the value registered for the closest superclass of the type, walking up from the type itself.
+     */
+    static <H> H mostSpecific(Map<? extends Class<?>, H> handlers, Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            H handler = handlers.get(current);
+            if (handler != null) {
+                return handler;
+            }
+        }
+        return null;
+    }
+
+    private static class Window {
+        private long start = Long.MIN_VALUE;
+        private int count;
+        private int suppressed;
+
+        /**
+         * Returns the number of failures suppressed before this one if it may be reported, or -1.
+         */
+        synchronized int admit(long now, int max, long length) {
+            if (start == Long.MIN_VALUE || now - start >= length) {
+                start = now;
+                count = 0;
+            }
+            if (count >= max) {
+                suppressed++;
+                return -1;
+            }
+            count++;
+            int dropped = suppressed;
+            suppressed = 0;
+            return dropped;
+        }
+    }
+}
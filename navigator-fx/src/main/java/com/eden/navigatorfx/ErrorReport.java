@@ -0,0 +1,61 @@
+package com.eden.navigatorfx.v2;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+
+/**
+ * A navigation failure handed to an {@link ErrorSink}.
+ */
+public final class ErrorReport {
+    private final Instant timestamp;
+    private final String url;
+    private final Throwable error;
+    private final int suppressed;
+
+    ErrorReport(Instant timestamp, String url, Throwable error, int suppressed) {
+        this.timestamp = timestamp;
+        this.url = url;
+        this.error = error;
+        this.suppressed = suppressed;
+    }
+
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    /**
+     * URL of the failed navigation, or null for failures outside a navigation (e.g. listeners).
+     */
+    public String url() {
+        return url;
+    }
+
+    public Throwable error() {
+        return error;
+    }
+
+    /**
+     * Number of identical failures dropped by rate limiting since the previous report.
+     */
+    public int suppressed() {
+        return suppressed;
+    }
+
+    /**
+     * Formats the report with its stack trace, as written by the console and file sinks.
+     */
+    public String format() {
+        StringWriter out = new StringWriter();
+        out.append(timestamp.toString()).append(" navigation failure");
+        if (url != null) {
+            out.append(" [").append(url).append(']');
+        }
+        if (suppressed > 0) {
+            out.append(" (").append(String.valueOf(suppressed)).append(" similar failures suppressed)");
+        }
+        out.append(System.lineSeparator());
+        error.printStackTrace(new PrintWriter(out));
+        return out.toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.eden.navigatorfx.v2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Destination of navigation failure reports. Sinks are called off the FX thread, one report at a time.
+ */
+@FunctionalInterface
+public interface ErrorSink {
+    void report(ErrorReport report);
+
+    /**
+     * Writes reports to standard error. This is the default sink.
+     */
+    static ErrorSink console() {
+        return report -> System.err.print(report.format());
+    }
+
+    /**
+     * Keeps the last reports in memory.
+     */
+    static Ring ring(int capacity) {
+        return new Ring(capacity);
+    }
+
+    /**
+     * Appends reports to a file, rolling it over to {@code file.1 ... file.(maxFiles - 1)} past maxBytes.
+     */
+    static RollingFile rollingFile(Path file, long maxBytes, int maxFiles) {
+        return new RollingFile(file, maxBytes, maxFiles);
+    }
+
+    final class Ring implements ErrorSink {
+        private final ErrorReport[] reports;
+        private int next;
+        private int size;
+
+        private Ring(int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Ring capacity must be at least 1");
+            }
+            this.reports = new ErrorReport[capacity];
+        }
+
+        @Override
+        public synchronized void report(ErrorReport report) {
+            reports[next] = report;
+            next = (next + 1) % reports.length;
+            size = Math.min(size + 1, reports.length);
+        }
+
+        /**
+         * Returns the kept reports, oldest first.
+         */
+        public synchronized List<ErrorReport> reports() {
+            List<ErrorReport> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(reports[(next - size + i + reports.length) % reports.length]);
+            }
+            return list;
+        }
+    }
+
+    final class RollingFile implements ErrorSink {
+        private final Path file;
+        private final long maxBytes;
+        private final int maxFiles;
+
+        private RollingFile(Path file, long maxBytes, int maxFiles) {
+            if (maxBytes < 1 || maxFiles < 1) {
+                throw new IllegalArgumentException("Rolling file size and count must be at least 1");
+            }
+            this.file = file;
+            this.maxBytes = maxBytes;
+            this.maxFiles = maxFiles;
+        }
+
+        @Override
+        public synchronized void report(ErrorReport report) {
+            try {
+                if (Files.exists(file) && Files.size(file) >= maxBytes) {
+                    roll();
+                }
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    writer.write(report.format());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write error report to " + file, e);
+            }
+        }
+
+        private void roll() throws IOException {
+            if (maxFiles == 1) {
+                Files.delete(file);
+                return;
+            }
+            Files.deleteIfExists(rolled(maxFiles - 1));
+            for (int i = maxFiles - 2; i >= 1; i--) {
+                if (Files.exists(rolled(i))) {
+                    Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        private Path rolled(int index) {
+            return file.resolveSibling(file.getFileName() + "." + index);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.eden.navigatorfx.v2;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Memoized route guard decisions keyed by route, requested path and principal. Entries expire after
+ * the route's TTL and can be dropped explicitly, e.g. when the user logs in or out. The path is part
+ * of the key so a decision for {@code /orders/1} is never reused for {@code /orders/2}.
+ */
+class GuardCache {
+    // Expired decisions are purged once this many are kept, and the soonest to expire go if all are live
+    private static final int MAX_DECISIONS = 4096;
+
+    private final Map<Key, Entry> decisions = new ConcurrentHashMap<>();
+
+    private record Key(String route, String path, Object principal) {
+    }
+
+    private record Entry(Navigator.RouteGuardResponse response, long expiresAt) {
+    }
+
+    Navigator.RouteGuardResponse decide(String route, String path, Object principal, Duration ttl,
+                                        Supplier<Navigator.RouteGuardResponse> guard) {
+        Key key = new Key(route, path, principal);
+        long now = System.nanoTime();
+        Entry entry = decisions.get(key);
+        if (entry != null && now - entry.expiresAt < 0) {
+            return entry.response;
+        }
+        Navigator.RouteGuardResponse response = guard.get();
+        decisions.put(key, new Entry(response, now + ttl.toNanos()));
+        if (decisions.size() > MAX_DECISIONS) {
+            purge(now);
+        }
+        return response;
+    }
+
+    private void purge(long now) {
+        decisions.values().removeIf(entry -> now - entry.expiresAt >= 0);
+        int excess = decisions.size() - MAX_DECISIONS;
+        if (excess > 0) {
+            decisions.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAt - now))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(decisions::remove);
+        }
+    }
+
+    void invalidateAll() {
+        decisions.clear();
+    }
+
+    void invalidatePrincipal(Object principal) {
+        decisions.keySet().removeIf(key -> Objects.equals(key.principal, principal));
+    }
+
+    /**
+     * Drops the decisions for every path of the route.
+     */
+    void invalidateRoute(String route) {
+        decisions.keySet().removeIf(key -> key.route.equals(route));
+    }
+}
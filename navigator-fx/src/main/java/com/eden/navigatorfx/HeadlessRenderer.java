@@ -0,0 +1,179 @@
+package com.eden.navigatorfx.v2;
+
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Renders URLs to PNG images for {@link Navigator#renderToImages}. Each batch goes through four stages:
+ * routing on the FX thread, building views in parallel, snapshots on the FX thread and encoding in
+ * parallel. Only one batch of scene graphs and pixel buffers is alive at a time.
+ */
+class HeadlessRenderer {
+    private final Path outputDirectory;
+    private final double width;
+    private final double height;
+    private final int batchSize;
+    private final Executor executor;
+    private final LongAdder buildNanos = new LongAdder();
+    private final LongAdder snapshotNanos = new LongAdder();
+    private final LongAdder encodeNanos = new LongAdder();
+
+    // One URL on its way through the stages, which skip it once it has an entry
+    private static class Job {
+        final int index;
+        final String url;
+        Navigator.Route route;
+        NavRequest request;
+        Parent root;
+        int[] pixels;
+        int imageWidth;
+        int imageHeight;
+        RenderReport.Entry entry;
+
+        Job(int index, String url) {
+            this.index = index;
+            this.url = url;
+        }
+    }
+
+    HeadlessRenderer(Path outputDirectory, double width, double height, int batchSize, Executor executor) {
+        this.outputDirectory = outputDirectory;
+        this.width = width;
+        this.height = height;
+        this.batchSize = batchSize;
+        this.executor = executor;
+    }
+
+    CompletableFuture<RenderReport> render(List<String> urls) {
+        long started = System.nanoTime();
+        try {
+            Files.createDirectories(outputDirectory);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new UncheckedIOException("Failed to create " + outputDirectory, e));
+        }
+        List<Job> jobs = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            jobs.add(new Job(i, urls.get(i)));
+        }
+        CompletableFuture<Void> done = CompletableFuture.completedFuture(null);
+        for (int from = 0; from < jobs.size(); from += batchSize) {
+            List<Job> batch = jobs.subList(from, Math.min(from + batchSize, jobs.size()));
+            done = done.thenCompose(ignored -> renderBatch(batch));
+        }
+        return done.thenApply(ignored -> new RenderReport(jobs.stream().map(job -> job.entry).toList(),
+                System.nanoTime() - started, buildNanos.sum(), snapshotNanos.sum(), encodeNanos.sum()));
+    }
+
+    private CompletableFuture<Void> renderBatch(List<Job> batch) {
+        Executor fxThread = Platform::runLater;
+        return CompletableFuture.runAsync(() -> onEach(batch, this::route), fxThread)
+                .thenCompose(ignored -> inParallel(batch, this::build))
+                .thenRunAsync(() -> onEach(batch, this::snapshot), fxThread)
+                .thenCompose(ignored -> inParallel(batch, this::encode))
+                .whenComplete((ignored, error) -> batch.forEach(job -> {
+                    // Ends background work the views started, the images are taken
+                    if (job.request != null) {
+                        job.request.scope().cancel();
+                    }
+                }));
+    }
+
+    private static void onEach(List<Job> batch, Consumer<Job> stage) {
+        batch.stream().filter(job -> job.entry == null).forEach(stage);
+    }
+
+    private CompletableFuture<Void> inParallel(List<Job> batch, Consumer<Job> stage) {
+        return CompletableFuture.allOf(batch.stream()
+                .filter(job -> job.entry == null)
+                .map(job -> CompletableFuture.runAsync(() -> stage.accept(job), executor))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private void route(Job job) {
+        try {
+            job.request = Navigator.parseUrl(job.url, null);
+            job.route = Navigator.matchRoute(job.request);
+            job.entry = Navigator.checkRender(job.url, job.route, job.request);
+        } catch (RuntimeException e) {
+            fail(job, e);
+        }
+    }
+
+    private void build(Job job) {
+        long started = System.nanoTime();
+        try {
+            job.root = Navigator.buildForRender(job.route, job.request);
+        } catch (Exception e) {
+            fail(job, e);
+        } finally {
+            buildNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    private void snapshot(Job job) {
+        long started = System.nanoTime();
+        try {
+            Scene scene = new Scene(job.root, width, height);
+            scene.getStylesheets().addAll(Navigator.sceneStylesheets());
+            WritableImage image = scene.snapshot(null);
+            job.imageWidth = (int) image.getWidth();
+            job.imageHeight = (int) image.getHeight();
+            job.pixels = new int[job.imageWidth * job.imageHeight];
+            image.getPixelReader().getPixels(0, 0, job.imageWidth, job.imageHeight,
+                    PixelFormat.getIntArgbInstance(), IntBuffer.wrap(job.pixels), job.imageWidth);
+        } catch (RuntimeException e) {
+            fail(job, e);
+        } finally {
+            job.root = null;
+            snapshotNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    private void encode(Job job) {
+        long started = System.nanoTime();
+        Path file = outputDirectory.resolve(String.format("%03d-%s.png", job.index + 1, fileName(job.url)));
+        try {
+            BufferedImage image = new BufferedImage(job.imageWidth, job.imageHeight, BufferedImage.TYPE_INT_ARGB);
+            image.setRGB(0, 0, job.imageWidth, job.imageHeight, job.pixels, 0, job.imageWidth);
+            ImageIO.write(image, "png", file.toFile());
+            job.entry = new RenderReport.Entry(job.url, RenderReport.Status.RENDERED, file, null);
+        } catch (IOException | RuntimeException e) {
+            fail(job, e);
+        } finally {
+            job.pixels = null;
+            encodeNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    private static void fail(Job job, Exception e) {
+        Throwable cause = e.getCause();
+        String detail = e.getMessage() + (cause != null && cause != e ? ": " + cause.getMessage() : "");
+        job.entry = new RenderReport.Entry(job.url, RenderReport.Status.FAILED, null, detail);
+    }
+
+    // "/orders/42?tab=lines" becomes "orders_42_tab_lines"; the index prefix keeps names unique
+    private static String fileName(String url) {
+        String name = url.replaceAll("[^A-Za-z0-9._-]+", "_").replaceAll("^_+|_+$", "");
+        if (name.isEmpty()) {
+            return "index";
+        }
+        return name.length() > 100 ? name.substring(0, 100) : name;
+    }
+}
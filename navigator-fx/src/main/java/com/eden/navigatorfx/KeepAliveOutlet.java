@@ -0,0 +1,113 @@
+package com.eden.navigatorfx.v2;
+
+import com.eden.navigatorfx.v2.layout.NavLayout;
+import javafx.collections.ListChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.layout.StackPane;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Layout content area that keeps the most recently shown views attached. Showing a kept view only
+ * flips its visibility instead of re-attaching its graph; hidden views are unmanaged so they take no
+ * part in layout, and their controllers are paused (see {@link BaseController#onPause()}).
+ * Views beyond the capacity are detached, least recently shown first.
+ * <p>
+ * Use it as the content node of a layout and forward {@link NavLayout#setContent(Parent)} to it.
+ */
+public final class KeepAliveOutlet extends StackPane implements NavLayout {
+    private final Deque<Parent> kept = new ArrayDeque<>();
+    private int capacity;
+    private Parent active;
+
+    public KeepAliveOutlet() {
+        this(5);
+    }
+
+    public KeepAliveOutlet(int capacity) {
+        setCapacity(capacity);
+        // Views leave either by eviction or because another layout took them, restore them in both cases
+        getChildren().addListener((ListChangeListener<Node>) change -> {
+            while (change.next()) {
+                for (Node removed : change.getRemoved()) {
+                    if (removed instanceof Parent view && kept.remove(view)) {
+                        release(view);
+                    }
+                }
+            }
+        });
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets how many views are kept attached, including the one shown.
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Outlet capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        trim();
+    }
+
+    @Override
+    public void setContent(Parent content) {
+        if (content == active) {
+            return;
+        }
+        if (active != null) {
+            hide(active);
+        }
+        kept.remove(content);
+        if (content.getParent() != this) {
+            getChildren().add(content);
+        }
+        kept.addFirst(content);
+        active = content;
+        content.setManaged(true);
+        content.setVisible(true);
+        BaseController controller = controllerOf(content);
+        if (controller != null) {
+            controller.resume();
+        }
+        trim();
+    }
+
+    private void hide(Parent view) {
+        view.setVisible(false);
+        view.setManaged(false);
+        BaseController controller = controllerOf(view);
+        if (controller != null) {
+            controller.pause();
+        }
+    }
+
+    private void trim() {
+        while (kept.size() > capacity) {
+            getChildren().remove(kept.peekLast());
+        }
+    }
+
+    // Leaves a view that is no longer kept like any other detached view, ready to be shown elsewhere
+    private void release(Parent view) {
+        if (view == active) {
+            active = null;
+        }
+        view.setManaged(true);
+        view.setVisible(true);
+        BaseController controller = controllerOf(view);
+        if (controller != null) {
+            controller.resume();
+        }
+    }
+
+    private static BaseController controllerOf(Parent view) {
+        Navigator.LoadedView loaded = Navigator.LoadedView.of(view);
+        return loaded != null && loaded.controller instanceof BaseController controller ? controller : null;
+    }
+}
@@ -0,0 +1,324 @@
+package com.eden.navigatorfx.v2;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Control;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.text.Text;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * The current locale and the resource bundles of the views, loaded lazily once per base name,
+ * class loader and locale. Bundles are read as UTF-8 properties files through the Navigator's
+ * resource lookup, which also works from a named module where {@link ResourceBundle#getBundle}
+ * can't be given a class loader.
+ * <p>
+ * FXML resolves {@code %key} texts once, while loading. To switch the locale of live views in place,
+ * the loader is given a bundle that records the keys it resolves; right after loading, the nodes
+ * showing those texts are tagged with their key and translation. A locale change re-translates a
+ * tagged text only while it still shows the translation it was given, so texts the application set
+ * itself are left alone.
+ */
+class Localization {
+    private final ObjectProperty<Locale> locale = new SimpleObjectProperty<>(Locale.getDefault());
+    private volatile String defaultBaseName;
+    private final Map<BundleKey, Optional<ResourceBundle>> bundles = new ConcurrentHashMap<>();
+
+    private record BundleKey(String baseName, ClassLoader classLoader, Locale locale) {
+    }
+
+    // Tags the root of a loaded view with the bundle it was translated with
+    private record BundleRef(String baseName, ClassLoader classLoader) {
+    }
+
+    // Translatable texts of a node, keyed by the text property (text, promptText or tooltip)
+    private static final Object TEXT_KEYS = new Object();
+
+    // The bundle key of a text property and the translation it was last given
+    private record Translation(String key, String text) {
+    }
+
+    Localization(Runnable localeChanged) {
+        locale.addListener((observable, previous, current) -> localeChanged.run());
+    }
+
+    ObjectProperty<Locale> localeProperty() {
+        return locale;
+    }
+
+    Locale locale() {
+        return locale.get();
+    }
+
+    void setDefaultBaseName(String baseName) {
+        this.defaultBaseName = baseName;
+    }
+
+    String defaultBaseName() {
+        return defaultBaseName;
+    }
+
+    /**
+     * The base name of the bundle a route's views are translated with, or null if it has none.
+     */
+    String baseName(Navigator.Route route) {
+        return route != null && route.bundleBaseName != null ? route.bundleBaseName : defaultBaseName;
+    }
+
+    /**
+     * Returns the bundle for the current locale, loading it on first use.
+     *
+     * @throws MissingResourceException if no properties file exists for the base name
+     */
+    ResourceBundle bundle(String baseName, ClassLoader classLoader, BiFunction<ClassLoader, String, URL> resolver) {
+        Locale current = locale();
+        return bundles.computeIfAbsent(new BundleKey(baseName, classLoader, current),
+                        key -> Optional.ofNullable(load(baseName, classLoader, current, resolver)))
+                .orElseThrow(() -> new MissingResourceException(
+                        "Resource bundle not found: " + baseName + " for locale " + current, baseName, ""));
+    }
+
+    void clear() {
+        bundles.clear();
+    }
+
+    /**
+     * Drops the bundles of a class loader, e.g. of an unloaded plugin.
+     */
+    void evict(ClassLoader classLoader) {
+        bundles.keySet().removeIf(key -> key.classLoader == classLoader);
+    }
+
+    // Loads the bundle chain from the root file to the most specific one, like ResourceBundle.getBundle
+    private static ResourceBundle load(String baseName, ClassLoader classLoader, Locale locale,
+                                       BiFunction<ClassLoader, String, URL> resolver) {
+        String path = "/" + baseName.replace('.', '/');
+        List<String> suffixes = new ArrayList<>();
+        suffixes.add("");
+        if (!locale.getLanguage().isEmpty()) {
+            suffixes.add("_" + locale.getLanguage());
+            if (!locale.getCountry().isEmpty()) {
+                suffixes.add("_" + locale.getLanguage() + "_" + locale.getCountry());
+                if (!locale.getVariant().isEmpty()) {
+                    suffixes.add("_" + locale.getLanguage() + "_" + locale.getCountry() + "_" + locale.getVariant());
+                }
+            }
+        }
+        ResourceBundle bundle = null;
+        for (String suffix : suffixes) {
+            URL resource = resolver.apply(classLoader, path + suffix + ".properties");
+            if (resource != null) {
+                bundle = read(resource, bundle);
+            }
+        }
+        return bundle;
+    }
+
+    private static ResourceBundle read(URL resource, ResourceBundle parent) {
+        try (InputStream in = resource.openStream();
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return new ChainedBundle(reader, parent);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read resource bundle: " + resource, e);
+        }
+    }
+
+    private static class ChainedBundle extends PropertyResourceBundle {
+        ChainedBundle(Reader reader, ResourceBundle parent) throws IOException {
+            super(reader);
+            setParent(parent);
+        }
+    }
+
+    /**
+     * Wraps a bundle for an FXML loader, recording the keys the loader resolves.
+     */
+    static RecordingBundle recording(ResourceBundle bundle) {
+        return bundle != null ? new RecordingBundle(bundle) : null;
+    }
+
+    static final class RecordingBundle extends ResourceBundle {
+        private final ResourceBundle bundle;
+        // Text to the key it was resolved from, "" for texts resolved from several keys
+        private final Map<String, String> keysByText = new HashMap<>();
+
+        private RecordingBundle(ResourceBundle bundle) {
+            this.bundle = bundle;
+        }
+
+        @Override
+        protected Object handleGetObject(String key) {
+            if (!bundle.containsKey(key)) {
+                return null;
+            }
+            Object value = bundle.getObject(key);
+            if (value instanceof String text) {
+                // A text shared by several keys can't be traced back to the right one
+                keysByText.merge(text, key, (previous, current) -> previous.equals(current) ? previous : "");
+            }
+            return value;
+        }
+
+        @Override
+        protected Set<String> handleKeySet() {
+            return bundle.keySet();
+        }
+
+        @Override
+        public Enumeration<String> getKeys() {
+            return bundle.getKeys();
+        }
+
+        @Override
+        public Locale getLocale() {
+            return bundle.getLocale();
+        }
+    }
+
+    /**
+     * Tags a freshly loaded view with its bundle, and the nodes showing a text the loader resolved
+     * with its key. Views built without a loader only get the bundle, for
+     * {@link BaseController#onLocaleChanged}. Must be called on the FX thread or before the view is shown.
+     */
+    void tag(Parent view, String baseName, ClassLoader classLoader, RecordingBundle resolved) {
+        view.getProperties().put(BundleRef.class, new BundleRef(baseName, classLoader));
+        if (resolved == null || resolved.keysByText.isEmpty()) {
+            return;
+        }
+        Map<String, String> keys = resolved.keysByText;
+        walk(view, node -> {
+            tagText(node, "text", textOf(node), keys);
+            if (node instanceof TextInputControl input) {
+                tagText(node, "promptText", input.getPromptText(), keys);
+            }
+            if (node instanceof Control control && control.getTooltip() != null) {
+                tagText(node, "tooltip", control.getTooltip().getText(), keys);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void tagText(Node node, String property, String text, Map<String, String> keys) {
+        String key = text != null ? keys.get(text) : null;
+        if (key != null && !key.isEmpty()) {
+            ((Map<String, Translation>) node.getProperties().computeIfAbsent(TEXT_KEYS, ignored -> new HashMap<>()))
+                    .put(property, new Translation(key, text));
+        }
+    }
+
+    /**
+     * Re-translates the tagged texts of the views with the bundles of the current locale, and tells
+     * their controllers. Each view is visited once, even if it is reachable from several roots.
+     */
+    void relocalize(Collection<Parent> roots, BiFunction<ClassLoader, String, URL> resolver) {
+        Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<BundleRef, Optional<ResourceBundle>> resolved = new HashMap<>();
+        for (Parent root : roots) {
+            relocalize(root, null, visited, resolved, resolver);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void relocalize(Node node, ResourceBundle inherited, Set<Node> visited,
+                            Map<BundleRef, Optional<ResourceBundle>> resolved, BiFunction<ClassLoader, String, URL> resolver) {
+        if (!visited.add(node)) {
+            return;
+        }
+        ResourceBundle bundle = inherited;
+        if (node.getProperties().get(BundleRef.class) instanceof BundleRef ref) {
+            bundle = resolved.computeIfAbsent(ref, key -> find(key, resolver)).orElse(null);
+        }
+        if (bundle != null && node.getProperties().get(TEXT_KEYS) instanceof Map<?, ?> translations) {
+            translate(node, (Map<String, Translation>) translations, bundle);
+        }
+        Navigator.LoadedView loaded = Navigator.LoadedView.of(node);
+        if (bundle != null && loaded != null && loaded.controller instanceof BaseController controller) {
+            controller.onLocaleChanged(bundle);
+        }
+        for (Node child : children(node)) {
+            relocalize(child, bundle, visited, resolved, resolver);
+        }
+    }
+
+    // A view whose bundle has no file for the new locale keeps its texts
+    private Optional<ResourceBundle> find(BundleRef ref, BiFunction<ClassLoader, String, URL> resolver) {
+        try {
+            return Optional.of(bundle(ref.baseName, ref.classLoader, resolver));
+        } catch (MissingResourceException e) {
+            Navigator.reportError(null, e);
+            return Optional.empty();
+        }
+    }
+
+    private static void translate(Node node, Map<String, Translation> translations, ResourceBundle bundle) {
+        Iterator<Map.Entry<String, Translation>> entries = translations.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Translation> entry = entries.next();
+            Translation translation = entry.getValue();
+            StringProperty property = textProperty(node, entry.getKey());
+            if (property == null || !Objects.equals(property.get(), translation.text)) {
+                // The application has set a text of its own, it is no longer ours to translate
+                entries.remove();
+                continue;
+            }
+            // Bound texts are kept up to date by their binding, e.g. Navigator.text(key)
+            if (bundle.containsKey(translation.key) && !property.isBound()) {
+                String text = bundle.getString(translation.key);
+                property.set(text);
+                entry.setValue(new Translation(translation.key, text));
+            }
+        }
+    }
+
+    private static StringProperty textProperty(Node node, String property) {
+        return switch (property) {
+            case "text" -> node instanceof Labeled labeled ? labeled.textProperty()
+                    : node instanceof Text shape ? shape.textProperty() : null;
+            case "promptText" -> node instanceof TextInputControl input ? input.promptTextProperty() : null;
+            case "tooltip" -> node instanceof Control control && control.getTooltip() != null
+                    ? control.getTooltip().textProperty() : null;
+            default -> null;
+        };
+    }
+
+    private static String textOf(Node node) {
+        if (node instanceof Labeled labeled) {
+            return labeled.getText();
+        }
+        return node instanceof Text shape ? shape.getText() : null;
+    }
+
+    private static void walk(Node root, Consumer<Node> visitor) {
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            visitor.accept(node);
+            children(node).forEach(pending::push);
+        }
+    }
+
+    // Scroll pane content is only a child once the pane has a skin, so it is followed explicitly
+    private static List<Node> children(Node node) {
+        if (node instanceof ScrollPane scrollPane) {
+            return scrollPane.getContent() != null ? List.of(scrollPane.getContent()) : List.of();
+        }
+        return node instanceof Parent parent ? parent.getChildrenUnmodifiable() : List.of();
+    }
+}
@@ -0,0 +1,124 @@
+package com.eden.navigatorfx.v2;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Control;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Measures kept views and watches evicted ones through weak references. An evicted view still
+ * reachable after the grace period, with garbage collections run since its eviction, is reported as
+ * a leak suspect: something (typically a listener a controller registered on a long-lived object)
+ * still holds it.
+ */
+class MemoryProfiler {
+    // Rough costs of a node with its properties and of a control with its skin
+    private static final long NODE_BYTES = 512;
+    private static final long CONTROL_BYTES = 2048;
+    private static final int MAX_WATCHED = 1024;
+
+    private final ReferenceQueue<Parent> collected = new ReferenceQueue<>();
+    private final Deque<EvictedView> watched = new ArrayDeque<>();
+    private volatile Duration gracePeriod = Duration.ofSeconds(30);
+
+    void setGracePeriod(Duration gracePeriod) {
+        this.gracePeriod = gracePeriod;
+    }
+
+    /**
+     * Watches a view that no cache or pool holds anymore and should become garbage.
+     */
+    synchronized void watch(String key, Parent view) {
+        drain();
+        if (watched.size() >= MAX_WATCHED) {
+            watched.removeFirst();
+        }
+        watched.addLast(new EvictedView(key, view, collected, gcCount()));
+    }
+
+    synchronized List<MemoryReport.LeakSuspect> leakSuspects() {
+        drain();
+        long gcCount = gcCount();
+        Instant now = Instant.now();
+        List<MemoryReport.LeakSuspect> suspects = new ArrayList<>();
+        for (EvictedView evicted : watched) {
+            Parent view = evicted.get();
+            Duration age = Duration.between(evicted.evictedAt, now);
+            // Views shown again (e.g. kept by an outlet) are not leaks
+            if (view != null && view.getScene() == null
+                && age.compareTo(gracePeriod) >= 0 && gcCount > evicted.gcCountAtEviction) {
+                suspects.add(new MemoryReport.LeakSuspect(evicted.key, evicted.evictedAt, age));
+            }
+        }
+        return suspects;
+    }
+
+    private void drain() {
+        for (var reference = collected.poll(); reference != null; reference = collected.poll()) {
+            watched.remove(reference);
+        }
+    }
+
+    /**
+     * Walks the tree of a view. Must be called on the FX thread.
+     */
+    static MemoryReport.ViewFootprint measure(String key, MemoryReport.Kind kind, Parent root) {
+        int nodes = 0;
+        long bytes = 0;
+        Set<Image> images = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            nodes++;
+            bytes += node instanceof Control ? CONTROL_BYTES : NODE_BYTES;
+            if (node instanceof ImageView imageView && imageView.getImage() != null && images.add(imageView.getImage())) {
+                bytes += (long) (imageView.getImage().getWidth() * imageView.getImage().getHeight() * 4);
+            }
+            if (node instanceof Parent parent) {
+                for (Node child : parent.getChildrenUnmodifiable()) {
+                    // Views shown inside this one (e.g. a layout's content) are measured on their own
+                    if (Navigator.LoadedView.of(child) == null) {
+                        pending.push(child);
+                    }
+                }
+            }
+        }
+        return new MemoryReport.ViewFootprint(key, kind, nodes, bytes);
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static class EvictedView extends WeakReference<Parent> {
+        final String key;
+        final Instant evictedAt = Instant.now();
+        final long gcCountAtEviction;
+
+        EvictedView(String key, Parent view, ReferenceQueue<Parent> queue, long gcCountAtEviction) {
+            super(view, queue);
+            this.key = key;
+            this.gcCountAtEviction = gcCountAtEviction;
+        }
+    }
+}
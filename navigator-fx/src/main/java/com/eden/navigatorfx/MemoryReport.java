@@ -0,0 +1,71 @@
+package com.eden.navigatorfx.v2;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot of the views kept by the Navigator and of evicted views that were never garbage collected.
+ * Sizes are estimates from node counts and image pixels, meant to compare routes, not to match a heap dump.
+ */
+public final class MemoryReport {
+
+    public enum Kind {
+        /** A view in the scene cache. */
+        SCENE,
+        /** A cached layout, without the content it currently shows. */
+        LAYOUT,
+        /** An idle recycled view or pooled dialog. */
+        POOLED
+    }
+
+    public record ViewFootprint(String key, Kind kind, int nodes, long estimatedBytes) {
+    }
+
+    /**
+     * A view that left the Navigator's caches but is still reachable after garbage collections ran.
+     */
+    public record LeakSuspect(String key, Instant evictedAt, Duration age) {
+    }
+
+    private final List<ViewFootprint> views;
+    private final List<LeakSuspect> leakSuspects;
+
+    MemoryReport(List<ViewFootprint> views, List<LeakSuspect> leakSuspects) {
+        this.views = List.copyOf(views);
+        this.leakSuspects = List.copyOf(leakSuspects);
+    }
+
+    public List<ViewFootprint> views() {
+        return views;
+    }
+
+    public List<LeakSuspect> leakSuspects() {
+        return leakSuspects;
+    }
+
+    public int totalNodes() {
+        return views.stream().mapToInt(ViewFootprint::nodes).sum();
+    }
+
+    public long totalEstimatedBytes() {
+        return views.stream().mapToLong(ViewFootprint::estimatedBytes).sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-32s %-7s %7s %10s%n", "VIEW", "KIND", "NODES", "EST. KB"));
+        for (ViewFootprint view : views) {
+            out.append(String.format("%-32s %-7s %7d %10d%n", view.key, view.kind, view.nodes, view.estimatedBytes / 1024));
+        }
+        out.append(String.format("%-32s %-7s %7d %10d%n", "total", "", totalNodes(), totalEstimatedBytes() / 1024));
+        if (!leakSuspects.isEmpty()) {
+            out.append(System.lineSeparator()).append("Leak suspects (evicted but still reachable):").append(System.lineSeparator());
+            for (LeakSuspect suspect : leakSuspects) {
+                out.append(String.format("  %-30s evicted %ds ago%n", suspect.key, suspect.age.toSeconds()));
+            }
+        }
+        return out.toString();
+    }
+}
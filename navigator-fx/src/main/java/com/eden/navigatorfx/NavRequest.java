@@ -2,13 +2,20 @@ package com.eden.navigatorfx.v2;
 
 // NavRequest.java
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 
 public class NavRequest {
     private final String url;
     private final Map<String, String> queryParams;
-    private final Map<String, String> pathParams;
+    private Map<String, String> pathParams;
+    // Converted values of a route with typed path parameters, null for other routes
+    private RoutePattern.Params typedParams;
     private final Object data;
+    // Replaced when an equal request is delivered again, see adopt
+    private volatile NavigationScope scope;
+    private DialogPool.PooledDialog dialog;
 
     public NavRequest(String url, Map<String, String> queryParams, Map<String, String> pathParams, Object data) {
         this.url = url;
@@ -17,6 +24,11 @@ public class NavRequest {
         this.data = data;
     }
 
+    NavRequest(String url, Map<String, String> queryParams, Map<String, String> pathParams, Object data, NavigationScope scope) {
+        this(url, queryParams, pathParams, data);
+        this.scope = scope;
+    }
+
     public String url() {
         return url;
     }
@@ -30,11 +42,175 @@ public class NavRequest {
     }
 
     public Map<String, String> path() {
-        return pathParams;
+        return typedParams != null ? typedParams.asMap() : pathParams;
     }
 
     public String path(String key) {
-        return pathParams.get(key);
+        return path().get(key);
+    }
+
+    /**
+     * Value of a path parameter declared as {@code <int>}, converted while matching.
+     * Undeclared parameters are parsed on each call.
+     *
+     * @throws IllegalArgumentException if the route has no such parameter or its value is not an int
+     */
+    public int pathInt(String key) {
+        int index = typedIndex(key, RoutePattern.Type.INT, RoutePattern.Type.LONG);
+        if (index < 0) {
+            return Integer.parseInt(requirePath(key));
+        }
+        try {
+            return Math.toIntExact(typedParams.value(index));
+        } catch (ArithmeticException e) {
+            // A <long> value beyond the int range
+            throw new IllegalArgumentException("Path parameter " + key + " is not an int: " + typedParams.value(index), e);
+        }
+    }
+
+    /**
+     * Value of a path parameter declared as {@code <long>} or {@code <int>}, converted while matching.
+     * Undeclared parameters are parsed on each call.
+     *
+     * @throws IllegalArgumentException if the route has no such parameter or its value is not a long
+     */
+    public long pathLong(String key) {
+        int index = typedIndex(key, RoutePattern.Type.LONG, RoutePattern.Type.INT);
+        return index >= 0 ? typedParams.value(index) : Long.parseLong(requirePath(key));
+    }
+
+    /**
+     * Value of a path parameter declared as {@code <double>}, converted while matching.
+     * Undeclared parameters are parsed on each call.
+     *
+     * @throws IllegalArgumentException if the route has no such parameter or its value is not a number
+     */
+    public double pathDouble(String key) {
+        int index = typedIndex(key, RoutePattern.Type.DOUBLE, RoutePattern.Type.DOUBLE);
+        return index >= 0 ? Double.longBitsToDouble(typedParams.value(index)) : Double.parseDouble(requirePath(key));
+    }
+
+    /**
+     * Value of a path parameter declared as {@code <boolean>}, matched ignoring case.
+     * Undeclared parameters are parsed on each call.
+     *
+     * @throws IllegalArgumentException if the route has no such parameter or its value is not true or false
+     */
+    public boolean pathBoolean(String key) {
+        int index = typedIndex(key, RoutePattern.Type.BOOLEAN, RoutePattern.Type.BOOLEAN);
+        if (index >= 0) {
+            return typedParams.value(index) != 0;
+        }
+        String value = requirePath(key);
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Path parameter " + key + " is not a boolean: " + value);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Value of a path parameter declared as {@code <uuid>}, converted while matching.
+     * Undeclared parameters are parsed on each call.
+     *
+     * @throws IllegalArgumentException if the route has no such parameter or its value is not a UUID
+     */
+    public UUID pathUuid(String key) {
+        int index = typedIndex(key, RoutePattern.Type.UUID, RoutePattern.Type.UUID);
+        return index >= 0 ? (UUID) typedParams.object(index) : UUID.fromString(requirePath(key));
+    }
+
+    /**
+     * Value of a path parameter declared with {@link Navigator.Route#param(String, Class)}, resolved
+     * while matching. Undeclared parameters are looked up on each call, ignoring case.
+     *
+     * @throws IllegalArgumentException if the route has no such parameter or its value names no constant of the enum
+     */
+    public <E extends Enum<E>> E pathEnum(String key, Class<E> type) {
+        int index = typedIndex(key, RoutePattern.Type.ENUM, RoutePattern.Type.ENUM);
+        if (index >= 0 && type.isInstance(typedParams.object(index))) {
+            return type.cast(typedParams.object(index));
+        }
+        String value = requirePath(key);
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("Path parameter " + key + " is not a " + type.getSimpleName() + ": " + value);
+    }
+
+    // Index of a parameter converted to one of the types while matching, or -1
+    private int typedIndex(String key, RoutePattern.Type type, RoutePattern.Type alternative) {
+        if (typedParams == null) {
+            return -1;
+        }
+        int index = typedParams.index(key);
+        if (index < 0) {
+            return -1;
+        }
+        RoutePattern.Type declared = typedParams.type(index);
+        return declared == type || declared == alternative ? index : -1;
+    }
+
+    private String requirePath(String key) {
+        String value = path(key);
+        if (value == null) {
+            throw new IllegalArgumentException("No path parameter " + key + " in " + url);
+        }
+        return value;
+    }
+
+    void pathParams(RoutePattern.Params params) {
+        this.typedParams = params;
+    }
+
+    /**
+     * Scope for background work belonging to this navigation, cancelled when the user navigates away.
+     */
+    public NavigationScope scope() {
+        if (scope == null) {
+            scope = new NavigationScope(Navigator.executor());
+        }
+        return scope;
+    }
+
+    /**
+     * Closes the dialog showing this request and completes the navigation result with the value.
+     */
+    public void closeDialog(Object result) {
+        if (dialog == null) {
+            throw new IllegalStateException("Request is not displayed in a dialog: " + url);
+        }
+        dialog.close(this, result);
+    }
+
+    public void closeDialog() {
+        closeDialog(null);
+    }
+
+    /**
+     * True if the other request addresses the same URL with the same parameters and data, so a
+     * controller that already received it has nothing new to show.
+     */
+    boolean sameAs(NavRequest other) {
+        return other != null
+                && Objects.equals(url, other.url)
+                && Objects.equals(queryParams, other.queryParams)
+                && Objects.equals(path(), other.path())
+                && Objects.equals(data, other.data);
+    }
+
+    /**
+     * Takes over the scope of an equal, newer request. A controller that already holds
+     * this request isn't told about the newer one, but its background work must run in the scope of
+     * the navigation that is current, not of the one the user left.
+     */
+    void adopt(NavRequest newer) {
+        this.scope = newer.scope();
+    }
+
+    void dialog(DialogPool.PooledDialog dialog) {
+        this.dialog = dialog;
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,93 @@
+package com.eden.navigatorfx.v2;
+
+/**
+ * Immutable event published by the Navigator. Events are only created when a listener is
+ * registered for their type.
+ */
+public final class NavigationEvent {
+
+    public enum Type {
+        /** A navigation has been requested and is about to run middleware and guards. */
+        STARTED,
+        /** Middleware or a guard blocked or redirected the navigation; the detail holds the message or redirect URL. */
+        BLOCKED,
+        /** The navigation failed; the error holds the cause. */
+        FAILED,
+        /** The view was shown; the duration covers the whole navigation. */
+        COMPLETED,
+        /** The view was served from the scene cache. */
+        CACHE_HIT,
+        /** A view was removed from the scene cache; the url is the cache key. */
+        CACHE_EVICTED
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onEvent(NavigationEvent event);
+    }
+
+    @FunctionalInterface
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final Type type;
+    private final String url;
+    private final Navigator.Route route;
+    private final String detail;
+    private final Throwable error;
+    private final long timestamp;
+    private final long durationNanos;
+
+    NavigationEvent(Type type, String url, Navigator.Route route, String detail, Throwable error, long durationNanos) {
+        this.type = type;
+        this.url = url;
+        this.route = route;
+        this.detail = detail;
+        this.error = error;
+        this.timestamp = System.currentTimeMillis();
+        this.durationNanos = durationNanos;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public String url() {
+        return url;
+    }
+
+    /**
+     * The matched route, or null if the event happened before matching or no route matched.
+     */
+    public Navigator.Route route() {
+        return route;
+    }
+
+    public String detail() {
+        return detail;
+    }
+
+    public Throwable error() {
+        return error;
+    }
+
+    /**
+     * Wall-clock time of the event in epoch milliseconds.
+     */
+    public long timestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Time since the navigation started, or 0 for events not tied to a navigation.
+     */
+    public long durationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "NavigationEvent[" + type + " " + url + (detail != null ? " " + detail : "") + "]";
+    }
+}
@@ -0,0 +1,109 @@
+package com.eden.navigatorfx.v2;
+
+import javafx.application.Platform;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Copy-on-write event bus. Publishing reads one volatile array and never locks; listeners are
+ * invoked later on the FX thread or on the Navigator executor, never inside the navigation.
+ */
+class NavigationEventBus {
+    private static final Registration[] NONE = new Registration[0];
+
+    private volatile Registration[] registrations = NONE;
+    // Union of the types any listener wants, lets publish skip building unwanted events
+    private volatile int subscribedTypes;
+
+    /**
+     * Adds a listener; the owner is the id of the plugin that registered it, or null.
+     */
+    synchronized NavigationEvent.Subscription subscribe(NavigationEvent.Listener listener, Navigator.HookThread thread,
+                                                         Supplier<Executor> executor, String owner,
+                                                         NavigationEvent.Type... types) {
+        int mask = 0;
+        for (NavigationEvent.Type type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        Registration registration = new Registration(listener, thread, executor, owner, types.length == 0 ? -1 : mask);
+        Registration[] updated = Arrays.copyOf(registrations, registrations.length + 1);
+        updated[updated.length - 1] = registration;
+        replace(updated);
+        return () -> unsubscribe(registration);
+    }
+
+    private synchronized void unsubscribe(Registration registration) {
+        replace(Arrays.stream(registrations)
+                .filter(existing -> existing != registration)
+                .toArray(Registration[]::new));
+    }
+
+    synchronized void unsubscribeOwnedBy(String owner) {
+        replace(Arrays.stream(registrations)
+                .filter(existing -> !owner.equals(existing.owner))
+                .toArray(Registration[]::new));
+    }
+
+    private void replace(Registration[] updated) {
+        int mask = 0;
+        for (Registration registration : updated) {
+            mask |= registration.types;
+        }
+        subscribedTypes = mask;
+        registrations = updated;
+    }
+
+    boolean wants(NavigationEvent.Type type) {
+        return (subscribedTypes & (1 << type.ordinal())) != 0;
+    }
+
+    void publish(NavigationEvent.Type type, String url, Navigator.Route route, String detail, Throwable error, long durationNanos) {
+        if (!wants(type)) {
+            return;
+        }
+        NavigationEvent event = new NavigationEvent(type, url, route, detail, error, durationNanos);
+        int bit = 1 << type.ordinal();
+        for (Registration registration : registrations) {
+            if ((registration.types & bit) != 0) {
+                registration.deliver(event);
+            }
+        }
+    }
+
+    private static class Registration {
+        final NavigationEvent.Listener listener;
+        final Navigator.HookThread thread;
+        // Background listeners get their own serial executor so they see events in order
+        final Executor background;
+        final String owner;
+        final int types;
+
+        Registration(NavigationEvent.Listener listener, Navigator.HookThread thread, Supplier<Executor> executor,
+                     String owner, int types) {
+            this.listener = listener;
+            this.thread = thread;
+            this.background = new SerialExecutor(executor);
+            this.owner = owner;
+            this.types = types;
+        }
+
+        void deliver(NavigationEvent event) {
+            if (thread == Navigator.HookThread.FX) {
+                Platform.runLater(() -> dispatch(event));
+            } else {
+                background.execute(() -> dispatch(event));
+            }
+        }
+
+        private void dispatch(NavigationEvent event) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                // A failing listener must not affect navigation or other listeners
+                Navigator.reportError(event.url(), e);
+            }
+        }
+    }
+}
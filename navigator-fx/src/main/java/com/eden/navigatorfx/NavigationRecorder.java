@@ -0,0 +1,166 @@
+package com.eden.navigatorfx.v2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Appends navigations to a recording file for {@link Navigator#replay(Path)}. Writes happen in order on
+ * the navigation executor, so navigating never waits for the disk, and each record is flushed so a
+ * crash loses at most the navigation in flight.
+ * <p>
+ * The file is binary: a header, then per navigation its wall-clock time, URL, data type, outcome and
+ * phase timings. Recording into an existing file appends to it.
+ */
+class NavigationRecorder implements Closeable {
+    private static final int MAGIC = 0x4E415652; // "NAVR"
+    private static final byte VERSION = 1;
+    private static final List<String> OUTCOMES = List.of("completed", "blocked", "failed");
+
+    /**
+     * A recorded navigation.
+     *
+     * @param timestamp wall-clock time of the navigation in epoch milliseconds
+     * @param dataType  class name of the navigation data, or null if there was none
+     */
+    record Entry(long timestamp, String url, String dataType, String outcome, long totalNanos, long[] phaseNanos) {
+    }
+
+    private final Path file;
+    private final DataOutputStream out;
+    private final SerialExecutor writer;
+    private volatile boolean closed;
+
+    private NavigationRecorder(Path file, DataOutputStream out, Supplier<? extends Executor> executor) {
+        this.file = file;
+        this.out = out;
+        this.writer = new SerialExecutor(executor);
+    }
+
+    static NavigationRecorder open(Path file) throws IOException {
+        return open(file, Navigator::executor);
+    }
+
+    static NavigationRecorder open(Path file, Supplier<? extends Executor> executor) throws IOException {
+        boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+        if (!fresh) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                readHeader(in, file);
+            }
+        }
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)));
+        if (fresh) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.flush();
+        }
+        return new NavigationRecorder(file, out, executor);
+    }
+
+    void record(String url, Object data, String outcome, long totalNanos, long[] phaseNanos) {
+        // Encoded whole first, so a record that can't be encoded, e.g. a URL over 64 KB, never leaves half of itself in the file
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + url.length() + 8 * phaseNanos.length);
+        try (DataOutputStream record = new DataOutputStream(bytes)) {
+            record.writeLong(System.currentTimeMillis());
+            record.writeUTF(url);
+            record.writeUTF(data != null ? data.getClass().getName() : "");
+            record.writeByte(Math.max(0, OUTCOMES.indexOf(outcome)));
+            record.writeLong(totalNanos);
+            record.writeByte(phaseNanos.length);
+            for (long nanos : phaseNanos) {
+                record.writeLong(nanos);
+            }
+        } catch (IOException e) {
+            Navigator.reportError(url, new UncheckedIOException("Failed to record navigation to " + file, e));
+            return;
+        }
+        writer.execute(() -> {
+            if (closed) {
+                return;
+            }
+            try {
+                bytes.writeTo(out);
+                out.flush();
+            } catch (IOException e) {
+                Navigator.reportError(null, new UncheckedIOException("Failed to record navigation to " + file, e));
+            }
+        });
+    }
+
+    /**
+     * Stops recording once the navigations already queued are written.
+     */
+    @Override
+    public void close() {
+        CompletableFuture.runAsync(() -> {
+            closed = true;
+            try {
+                out.close();
+            } catch (IOException e) {
+                Navigator.reportError(null, e);
+            }
+        }, writer).join();
+    }
+
+    /**
+     * Reads a recording. A record cut short, e.g. by a crash while writing it, ends the recording.
+     */
+    static List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            readHeader(in, file);
+            while (true) {
+                long timestamp;
+                try {
+                    timestamp = in.readLong();
+                } catch (EOFException e) {
+                    return entries;
+                }
+                try {
+                    String url = in.readUTF();
+                    String dataType = in.readUTF();
+                    String outcome = OUTCOMES.get(Math.min(in.readUnsignedByte(), OUTCOMES.size() - 1));
+                    long totalNanos = in.readLong();
+                    long[] phaseNanos = new long[in.readUnsignedByte()];
+                    for (int i = 0; i < phaseNanos.length; i++) {
+                        phaseNanos[i] = in.readLong();
+                    }
+                    entries.add(new Entry(timestamp, url, dataType.isEmpty() ? null : dataType, outcome, totalNanos, phaseNanos));
+                } catch (EOFException e) {
+                    return entries;
+                }
+            }
+        }
+    }
+
+    private static void readHeader(DataInputStream in, Path file) throws IOException {
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a navigation recording: " + file);
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported navigation recording version " + version + ": " + file);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Not a navigation recording: " + file, e);
+        }
+    }
+}
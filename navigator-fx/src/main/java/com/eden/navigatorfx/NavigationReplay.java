@@ -0,0 +1,225 @@
+package com.eden.navigatorfx.v2;
+
+import javafx.application.Platform;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Re-runs a navigation recording against the bound Navigator, e.g. one bound to a stage that is never
+ * shown, to soak-test caching and history and find what slows down long sessions.
+ *
+ * <pre>{@code
+ * Navigator.replay(Path.of("session.navrec"))
+ *     .speed(0)
+ *     .concurrency(4)
+ *     .passes(20)
+ *     .data(type -> type.equals(Order.class.getName()) ? Order.sample() : null)
+ *     .run()
+ *     .thenAccept(report -> System.out.print(report));
+ * }</pre>
+ *
+ * Navigations run on the FX thread one at a time, as they would for a user. Concurrency is how many
+ * are queued at once, and latency is measured from queueing to the end of the navigation, so it
+ * includes the wait behind the others. A navigation committed with a placeholder ends when its view
+ * replaced the placeholder.
+ */
+public final class NavigationReplay {
+    private final List<NavigationRecorder.Entry> entries;
+    private double speed = 1;
+    private int concurrency = 1;
+    private int passes = 1;
+    private Duration maxPause = Duration.ofSeconds(5);
+    private Function<String, Object> data = type -> null;
+
+    NavigationReplay(List<NavigationRecorder.Entry> entries) {
+        this.entries = List.copyOf(entries);
+    }
+
+    /**
+     * Number of navigations in the recording.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Scales the pauses between navigations: 1 keeps the recorded pace, 2 is twice as fast and 0 runs
+     * the navigations back to back (1 by default).
+     */
+    public NavigationReplay speed(double speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("Speed must not be negative");
+        }
+        this.speed = speed;
+        return this;
+    }
+
+    /**
+     * Sets how many navigations may be queued at once (1 by default).
+     */
+    public NavigationReplay concurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Sets how many times the recording is replayed (1 by default). The report has the heap after each pass.
+     */
+    public NavigationReplay passes(int passes) {
+        if (passes < 1) {
+            throw new IllegalArgumentException("Passes must be at least 1");
+        }
+        this.passes = passes;
+        return this;
+    }
+
+    /**
+     * Caps recorded pauses, e.g. while the user was away or between appended sessions (5 seconds by default).
+     */
+    public NavigationReplay maxPause(Duration maxPause) {
+        if (maxPause == null || maxPause.isNegative()) {
+            throw new IllegalArgumentException("Maximum pause must not be negative");
+        }
+        this.maxPause = maxPause;
+        return this;
+    }
+
+    /**
+     * Creates the navigation data from the recorded class name; navigations without data get null. By
+     * default all navigations are replayed without data.
+     */
+    public NavigationReplay data(Function<String, Object> factory) {
+        this.data = Objects.requireNonNull(factory, "Data factory can't be null");
+        return this;
+    }
+
+    /**
+     * Replays the recording on a thread of its own, completing with the latencies and heap growth per route.
+     */
+    public CompletableFuture<ReplayReport> run() {
+        CompletableFuture<ReplayReport> report = new CompletableFuture<>();
+        Thread.ofPlatform().daemon().name("navigator-replay").start(() -> {
+            try {
+                report.complete(drive());
+            } catch (InterruptedException e) {
+                report.cancel(false);
+            } catch (RuntimeException e) {
+                report.completeExceptionally(e);
+            }
+        });
+        return report;
+    }
+
+    private ReplayReport drive() throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        // Only touched on the FX thread, and read here once all permits are back
+        Map<String, Samples> samples = new TreeMap<>();
+        List<Long> settledHeap = new ArrayList<>();
+        settledHeap.add(settledHeap());
+        long started = System.nanoTime();
+        for (int pass = 0; pass < passes; pass++) {
+            long previous = -1;
+            for (NavigationRecorder.Entry entry : entries) {
+                if (speed > 0 && previous >= 0) {
+                    long pause = Math.min(Math.max(0, entry.timestamp() - previous), maxPause.toMillis());
+                    TimeUnit.NANOSECONDS.sleep((long) (pause * 1e6 / speed));
+                }
+                previous = entry.timestamp();
+                Navigator.NavigationTask task = new Navigator.NavigationTask(entry.url(),
+                        entry.dataType() != null ? data.apply(entry.dataType()) : null);
+                inFlight.acquire();
+                long queuedAt = System.nanoTime();
+                Platform.runLater(() -> {
+                    long heapBefore = usedHeap();
+                    try {
+                        task.run();
+                    } finally {
+                        // A view shown behind a placeholder counts once it replaced the placeholder
+                        task.settled().whenComplete((ignored, error) -> {
+                            try {
+                                long latency = System.nanoTime() - queuedAt;
+                                samples.computeIfAbsent(key(task, entry), key -> new Samples())
+                                        .add(latency, task.outcome(), usedHeap() - heapBefore);
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+                    }
+                });
+            }
+            inFlight.acquire(concurrency);
+            inFlight.release(concurrency);
+            settledHeap.add(settledHeap());
+        }
+        long elapsed = System.nanoTime() - started;
+        List<ReplayReport.RouteStats> routes = new ArrayList<>();
+        samples.forEach((route, sample) -> routes.add(sample.toStats(route)));
+        return new ReplayReport(routes, elapsed, settledHeap);
+    }
+
+    // Navigations are grouped by route pattern, or by path when no route took them
+    private static String key(Navigator.NavigationTask task, NavigationRecorder.Entry entry) {
+        if (task.matchedRoute() != null) {
+            return task.matchedRoute().getFullUrl();
+        }
+        int query = entry.url().indexOf('?');
+        return query >= 0 ? entry.url().substring(0, query) : entry.url();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long settledHeap() {
+        System.gc();
+        return usedHeap();
+    }
+
+    private static class Samples {
+        private long[] latencies = new long[16];
+        private int count;
+        private int blocked;
+        private int failed;
+        private long heapDelta;
+
+        void add(long latency, String outcome, long heapDelta) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if ("blocked".equals(outcome)) {
+                blocked++;
+            } else if ("failed".equals(outcome)) {
+                failed++;
+            }
+            this.heapDelta += heapDelta;
+        }
+
+        ReplayReport.RouteStats toStats(String route) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new ReplayReport.RouteStats(route, count, blocked, failed,
+                    percentile(sorted, 0.5), percentile(sorted, 0.9), percentile(sorted, 0.99),
+                    sorted[count - 1], heapDelta);
+        }
+
+        // Nearest rank
+        private static long percentile(long[] sorted, double p) {
+            return sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)];
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.eden.navigatorfx.v2;
+
+import javafx.application.Platform;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Background work tied to a single navigation. Every task submitted through a scope is cancelled
+ * (and its thread interrupted) as soon as the user navigates away from the route that created it.
+ */
+public class NavigationScope {
+    private final ExecutorService executor;
+    private final Set<CompletableFuture<?>> tasks = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    NavigationScope(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs the work on the Navigator executor, returning a future that is cancelled with the scope.
+     */
+    public <T> CompletableFuture<T> supply(Callable<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Added before checking the flag: a concurrent cancel() either finds the task or is seen here
+        tasks.add(result);
+        if (cancelled) {
+            tasks.remove(result);
+            result.cancel(true);
+            return result;
+        }
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    result.complete(work.call());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The executor has been shut down
+            tasks.remove(result);
+            result.completeExceptionally(e);
+            return result;
+        }
+        // Runs at once if the scope was cancelled while the task was being submitted
+        result.whenComplete((value, failure) -> {
+            tasks.remove(result);
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public CompletableFuture<Void> run(Runnable work) {
+        return supply(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executor that runs continuations on the FX thread, unless the scope has been cancelled by then.
+     * Typically used as {@code scope.supply(...).thenAcceptAsync(this::show, scope.fx())}.
+     */
+    public Executor fx() {
+        return runnable -> Platform.runLater(() -> {
+            if (!cancelled) {
+                runnable.run();
+            }
+        });
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels every pending task of this scope. Further submissions complete as cancelled.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (CompletableFuture<?> task : tasks) {
+            task.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.eden.navigatorfx.v2;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Recent navigations with their phase timings, scene cache hits and misses and view build times
+ * per view, as shown by the diagnostics window. Recording costs a few counters per navigation.
+ */
+class NavigationStats {
+    private static final int MAX_TRACES = 20;
+
+    enum Phase {
+        /** Parsing, matching and middleware. */
+        ROUTING,
+        /** Exit hooks, guard and beforeEnter. */
+        GUARDS,
+        /** Building or fetching the views, including outlets. */
+        LOADING,
+        /** Layout, scene update, enter/exit hooks and starting the transition. */
+        RENDERING
+    }
+
+    record Trace(String url, String outcome, long totalNanos, long[] phaseNanos) {
+    }
+
+    private final Deque<Trace> traces = new ArrayDeque<>();
+    private final Map<String, long[]> cacheLookups = new TreeMap<>();
+    // Moving average of how long building each view took, weighing the latest build by a quarter
+    private final Map<String, Long> buildNanos = new TreeMap<>();
+
+    synchronized void record(Trace trace) {
+        if (traces.size() == MAX_TRACES) {
+            traces.removeLast();
+        }
+        traces.addFirst(trace);
+    }
+
+    synchronized void cacheHit(String key) {
+        cacheLookups.computeIfAbsent(key, ignored -> new long[2])[0]++;
+    }
+
+    synchronized void cacheMiss(String key) {
+        cacheLookups.computeIfAbsent(key, ignored -> new long[2])[1]++;
+    }
+
+    synchronized void viewBuilt(String key, long nanos) {
+        buildNanos.merge(key, nanos, (average, latest) -> average + (latest - average) / 4);
+    }
+
+    /**
+     * Expected time to build the view, or -1 if it was never built.
+     */
+    synchronized long expectedBuildNanos(String key) {
+        return buildNanos.getOrDefault(key, -1L);
+    }
+
+    synchronized void describe(StringBuilder out) {
+        out.append(String.format("%nScene cache%n%-32s %6s %6s %6s%n", "VIEW", "HITS", "MISSES", "RATE"));
+        cacheLookups.forEach((key, counts) -> out.append(String.format("%-32s %6d %6d %5.0f%%%n",
+                key, counts[0], counts[1], 100.0 * counts[0] / (counts[0] + counts[1]))));
+
+        out.append(String.format("%nView build (ms, moving average)%n"));
+        buildNanos.forEach((key, nanos) -> out.append(String.format("%-32s %7.1f%n", key, nanos / 1e6)));
+
+        out.append(String.format("%nLast navigations (ms)%n%-24s %-9s %7s", "URL", "OUTCOME", "TOTAL"));
+        for (Phase phase : Phase.values()) {
+            out.append(String.format(" %9s", phase.name().toLowerCase()));
+        }
+        out.append(System.lineSeparator());
+        for (Trace trace : traces) {
+            out.append(String.format("%-24s %-9s %7.1f", trace.url, trace.outcome, trace.totalNanos / 1e6));
+            for (long nanos : trace.phaseNanos) {
+                out.append(String.format(" %9.1f", nanos / 1e6));
+            }
+            out.append(System.lineSeparator());
+        }
+    }
+}
@@ -4,32 +4,52 @@ package com.eden.navigatorfx.v2;
 
 import com.eden.navigatorfx.v2.layout.NavLayoutFn;
 import com.eden.navigatorfx.v2.layout.NavLayout;
-import javafx.animation.FadeTransition;
-import javafx.animation.TranslateTransition;
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.StringBinding;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.image.Image;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
-import javafx.util.Duration;
+import javafx.stage.Window;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class Navigator {
   private ResourceLoader resourceLoader;
@@ -44,9 +64,12 @@ public class Navigator {
   private final Map<String, LoadedLayout> layoutCache = new HashMap<>();
   private LoadedLayout currentLayout;
   private String currentLayoutKey;
+  private Parent currentView;
+  private final TransitionEngine transitionEngine = new TransitionEngine();
 
-  // Route management
-  private final Map<String, Route> routes = new ConcurrentHashMap<>();
+  // Route management: registration replaces the immutable snapshot under the lock, matching only reads it
+  private final Object routeLock = new Object();
+  private volatile RouteTable routeTable = RouteTable.EMPTY;
   private final Deque<NavigationState> navigationStack = new ArrayDeque<>();
   private final BooleanProperty canGoBackProperty = new SimpleBooleanProperty(false);
 
@@ -54,12 +77,41 @@ public class Navigator {
   private int maxHistorySize = Integer.MAX_VALUE;
 
   // Performance optimizations (Scene caching)
-  private final Map<String, Parent> sceneCache = new HashMap<>();
+  private final Map<String, LoadedView> sceneCache = new HashMap<>();
   private boolean cachingEnabled = true;
-
-  // Middleware and route guards
-  private final List<Middleware> middlewares = new ArrayList<>();
-  private final List<Plugin> registeredPlugins = new ArrayList<>();
+  private final MemoryProfiler memoryProfiler = new MemoryProfiler();
+  private final DialogPool dialogPool = new DialogPool(memoryProfiler::watch, route -> routeTable.routes().contains(route));
+  private final ViewPool viewPool = new ViewPool(memoryProfiler::watch);
+  private final NavigationStats navigationStats = new NavigationStats();
+  // Set while navigations are recorded for replay
+  private volatile NavigationRecorder recorder;
+  private final DebugOverlay debugOverlay = new DebugOverlay(Navigator::describeDiagnostics, new PulseMonitor());
+  private KeyCombination debugOverlayHotkey;
+  // The view on screen when it belongs to a recycling route, returned to the pool once replaced
+  private Route recycledRoute;
+  private LoadedView recycledView;
+
+  // Middleware and route guards, per-route pipelines are rebuilt when the version changes
+  private final List<ScopedMiddleware> middlewares = new CopyOnWriteArrayList<>();
+  private volatile int middlewareVersion;
+  private final GuardCache guardCache = new GuardCache();
+  private final NavigationEventBus eventBus = new NavigationEventBus();
+  private final ErrorPipeline errorPipeline = new ErrorPipeline(Navigator::executor);
+  private volatile Supplier<?> principalSupplier = () -> null;
+  private final PluginRegistry pluginRegistry = new PluginRegistry();
+  private final ResourceCache resourceCache = new ResourceCache();
+  private final Localization localization = new Localization(Navigator::relocalizeViews);
+  private final ViewModules viewModules = new ViewModules();
+  // Shown while slow views build, unless the route has its own
+  private Function<NavRequest, Parent> placeholder;
+  private Duration placeholderDelay = Duration.ofMillis(150);
+  private Duration placeholderMinDuration = Duration.ofMillis(300);
+  // Plugin whose registerRoutes is running on this thread, stamped on what it registers
+  private static final ThreadLocal<PluginOwner> REGISTERING_PLUGIN = new ThreadLocal<>();
+
+  // Background work (virtual threads unless replaced) and the scope of the current navigation
+  private ExecutorService executor;
+  private NavigationScope currentScope;
 
   // For nested routes
   private String parentUrlPrefix = "";
@@ -103,9 +155,17 @@ public class Navigator {
    */
   public static Navigator bind (ResourceLoader resourceLoader, String applicationName, Stage primaryStage,
                                 StageStyle stageStyle, double width, double height) {
-    return setInstance(
+    Navigator navigator = setInstance(
         new Navigator(resourceLoader, applicationName, primaryStage, stageStyle, width, height)
     );
+    primaryStage.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+      KeyCombination hotkey = instance().debugOverlayHotkey;
+      if (hotkey != null && hotkey.match(event)) {
+        toggleDebugOverlay();
+        event.consume();
+      }
+    });
+    return navigator;
   }
 
   public static Navigator bind (Object baseReference, String applicationName, Stage primaryStage,
@@ -160,17 +220,34 @@ public class Navigator {
    * Adds multiple routes at once.
    */
   public static Navigator defineRoutes (Route... routesArray) {
+    List<Route> added = new ArrayList<>();
     for (Route route : routesArray) {
       if (route instanceof RouteLayout layout) {
-        addLayoutRoute(layout);
+        addLayoutRoute(layout, added);
       } else {
-        addRoute(route);
+        added.add(route);
       }
     }
+    addRoutes(added);
     return instance();
   }
 
 
+  /**
+   * Validates the whole route table. FXML, layout and stylesheet resources are resolved in parallel,
+   * duplicate and ambiguous routes are detected, and every problem is reported at once in a
+   * {@link RouteValidationException}. Routes defined afterwards, e.g. by plugins, are validated the
+   * same way before they are published, and rejected as a whole if they break the table.
+   */
+  public static Navigator compile () {
+    var navigator = instance();
+    synchronized (navigator.routeLock) {
+      navigator.routeTable = RouteTable.compile(navigator.routeTable.routes(), Navigator::getResource, executor());
+      navigator.routeTable.routes().forEach(route -> pipelineFor(route, route.getFullUrl()));
+    }
+    return navigator;
+  }
+
   /**
    * Helper method to get an array of routes
    */
@@ -203,37 +280,80 @@ public class Navigator {
   }
 
   /**
-   * Registers a plugin with the Navigator.
+   * Registers plugins with the Navigator. Plugins are initialized in dependency order, independent
+   * ones in parallel, and their routes are registered once every plugin is initialized. The calling
+   * thread waits for the initialization, so plugins that are slow to initialize should be registered
+   * with {@link #registerAsync(Plugin...)} from the FX thread.
    */
   public static void register (Plugin... plugins) {
-    var instance = instance();
-    for (Plugin plugin : plugins) {
-      registeredPlugins().add(plugin);
-      plugin.initialize();
-      plugin.registerRoutes(instance);
+    getPluginRegistry().register(instance(), null, plugins);
+  }
+
+  /**
+   * Registers plugins like {@link #register(Plugin...)} without blocking: plugins initialize on plugin
+   * threads, then their routes are registered on the FX thread. The future completes once the routes
+   * are registered, or with the failure {@code register} would throw. Registrations run in the order
+   * they are requested, so don't wait for one with {@code register} on the FX thread.
+   */
+  public static CompletableFuture<Void> registerAsync (Plugin... plugins) {
+    return getPluginRegistry().registerAsync(instance(), null, Platform::runLater, plugins);
+  }
+
+  /**
+   * Loads the plugins that the jars provide as {@link Plugin} services and registers them. When the
+   * Navigator runs as a named module the jars are resolved as a new module layer, otherwise they get
+   * their own class loader. The class loader is closed once every plugin loaded with it is unregistered.
+   */
+  public static List<Plugin> loadPlugins (Path... jars) {
+    PluginLoader.Loaded loaded = PluginLoader.load(jars);
+    try {
+      getPluginRegistry().register(instance(), loaded.source(), loaded.plugins().toArray(Plugin[]::new));
+    } catch (RuntimeException e) {
+      PluginLoader.close(loaded.source());
+      throw e;
     }
+    return loaded.plugins();
   }
 
   /**
-   * Unregisters a plugin from the Navigator.
+   * Unregisters a plugin from the Navigator. The routes and middleware it registered are removed
+   * first, then its cached and pooled views are dropped and it is shut down.
    */
   public static void unregister (Plugin plugin) {
-    registeredPlugins().remove(plugin);
-    plugin.shutdown();
+    getPluginRegistry().unregister(plugin);
   }
 
-  private static List<Plugin> registeredPlugins () {
-    return instance().registeredPlugins;
+  /**
+   * Returns the registered plugins in dependency order.
+   */
+  public static List<Plugin> registeredPlugins () {
+    return getPluginRegistry().plugins();
+  }
+
+  /**
+   * Returns how long each registered plugin took to initialize, keyed by plugin id.
+   */
+  public static Map<String, Duration> pluginInitTimes () {
+    return getPluginRegistry().initTimes();
   }
 
   /**
-   * Shutdown all registered plugins.
+   * Sets the maximum number of plugins initialized or shut down concurrently.
+   */
+  public static void setPluginParallelism (int parallelism) {
+    getPluginRegistry().setParallelism(parallelism);
+  }
+
+  private static PluginRegistry getPluginRegistry () {
+    return instance().pluginRegistry;
+  }
+
+  /**
+   * Shutdown all registered plugins, dependents before the plugins they depend on. Everything they
+   * registered is removed first, as when they are unregistered one by one.
    */
   public static void shutdownPlugins () {
-    for (Plugin plugin : registeredPlugins()) {
-      plugin.shutdown();
-    }
-    registeredPlugins().clear();
+    getPluginRegistry().shutdownAll();
   }
 
   /**
@@ -334,12 +454,10 @@ public class Navigator {
    * Navigates to the specified route by name with data.
    */
   public static NavigationTask navigateToNamed (String name, Object data) {
-    var route = getRoutes()
-        .values()
-        .stream()
-        .filter(r -> r.getName().equals(name))
-        .findAny()
-        .orElseThrow(() -> new RouteNotFoundException("Route not found with name : " + name));
+    Route route = instance().routeTable.named(name);
+    if (route == null) {
+      throw new RouteNotFoundException("Route not found with name : " + name);
+    }
     return navigateTo(route.getFullUrl(), data);
   }
 
@@ -350,6 +468,37 @@ public class Navigator {
     return navigateToNamed(name, null);
   }
 
+  /**
+   * Navigates to the links that later launches hand over with
+   * {@link DeepLinks#forwardToRunningInstance(String, String)}, and brings the primary stage to the
+   * front; an empty link only brings it to the front. Call it once the Navigator is bound; closing the
+   * handle stops listening.
+   *
+   * @throws IllegalStateException if another instance of the application is already listening
+   */
+  public static Closeable listenForDeepLinks (String appId) {
+    try {
+      return DeepLinks.listen(appId, link -> {
+        if (!link.isEmpty()) {
+          navigateTo(DeepLinks.toRoute(link));
+        }
+        Platform.runLater(() -> {
+          getPrimaryStage().setIconified(false);
+          getPrimaryStage().toFront();
+        });
+      });
+    } catch (IOException e) {
+      throw new NavigationException("Failed to listen for deep links on " + DeepLinks.socketPath(appId), e);
+    }
+  }
+
+  private static NavigationTask redirectTo (String url, Object data) {
+    NavigationTask task = new NavigationTask(url, data);
+    task.redirect = true;
+    Platform.runLater(task);
+    return task;
+  }
+
   /**
    * Navigates back to the previous scene if possible.
    */
@@ -408,7 +557,379 @@ public class Navigator {
    * Clears the scene cache.
    */
   public static void clearCache () {
+    instance().sceneCache.forEach((cacheKey, loaded) -> {
+      publishEvent(NavigationEvent.Type.CACHE_EVICTED, cacheKey, null, null, null, 0);
+      instance().memoryProfiler.watch(cacheKey, loaded.view);
+    });
     instance().sceneCache.clear();
+    instance().dialogPool.clear();
+    instance().viewPool.clear();
+  }
+
+  /**
+   * Enables or disables caching of resolved FXML, layout and resource URLs (enabled by default).
+   * Disable it when resources may appear on the class path while the application runs.
+   */
+  public static void setResourceCachingEnabled (boolean enabled) {
+    instance().resourceCache.setEnabled(enabled);
+  }
+
+  /**
+   * Forgets every resolved resource URL, including paths cached as not found, and every loaded resource bundle.
+   */
+  public static void clearResourceCache () {
+    instance().resourceCache.clear();
+    instance().localization.clear();
+  }
+
+  /**
+   * Returns the hit, miss and probe time counters of the resource cache.
+   */
+  public static ResourceStats resourceStats () {
+    return instance().resourceCache.stats();
+  }
+
+  /**
+   * Sets the placeholder shown inside the layout while a route's view is built, for routes without
+   * their own. Views are then built in the background; the placeholder only appears if the view isn't
+   * ready within the placeholder delay, and routes whose views built faster than that before are
+   * built directly. Cached views never show it. Pass null to always build views directly.
+   */
+  public static void setPlaceholder (Function<NavRequest, Parent> placeholder) {
+    instance().placeholder = placeholder;
+  }
+
+  /**
+   * Sets how long a navigation waits for its view before showing the placeholder (150 ms by default),
+   * and how long a placeholder stays up at least once shown (300 ms by default).
+   */
+  public static void setPlaceholderTiming (Duration delay, Duration minimumDisplay) {
+    if (delay.isNegative() || minimumDisplay.isNegative()) {
+      throw new IllegalArgumentException("Placeholder timings must not be negative");
+    }
+    instance().placeholderDelay = delay;
+    instance().placeholderMinDuration = minimumDisplay;
+  }
+
+  /**
+   * Sets how many hidden dialog stages are kept per dialog route for reuse (2 by default).
+   */
+  public static void setDialogPoolSize (int size) {
+    instance().dialogPool.setMaxIdlePerRoute(size);
+  }
+
+  // Localization Methods
+
+  /**
+   * Sets the base name of the resource bundle passed to every FXML load, e.g. "i18n.messages" for
+   * /i18n/messages_fr.properties. Routes can use their own bundle with {@link Route#bundle(String)}.
+   */
+  public static void setResourceBundle (String baseName) {
+    instance().localization.setDefaultBaseName(baseName);
+  }
+
+  /**
+   * Returns the resource bundle set with {@link #setResourceBundle(String)} for the current locale,
+   * or null if none is set.
+   */
+  public static ResourceBundle resourceBundle () {
+    String baseName = instance().localization.defaultBaseName();
+    return baseName != null ? bundle(baseName, null) : null;
+  }
+
+  public static Locale getLocale () {
+    return instance().localization.locale();
+  }
+
+  /**
+   * Switches the locale. Live, cached and pooled views are translated in place, without being
+   * reloaded, and their controllers get {@link BaseController#onLocaleChanged(ResourceBundle)}.
+   */
+  public static void setLocale (Locale locale) {
+    Objects.requireNonNull(locale, "Locale can't be null");
+    if (Platform.isFxApplicationThread()) {
+      instance().localization.localeProperty().set(locale);
+    } else {
+      Platform.runLater(() -> instance().localization.localeProperty().set(locale));
+    }
+  }
+
+  /**
+   * The current locale. Only change it on the FX thread.
+   */
+  public static ObjectProperty<Locale> localeProperty () {
+    return instance().localization.localeProperty();
+  }
+
+  /**
+   * Returns a binding to the text of a key in the default resource bundle that follows the locale,
+   * for texts set in code. Unknown keys are shown as the key itself.
+   */
+  public static StringBinding text (String key) {
+    return Bindings.createStringBinding(() -> {
+      ResourceBundle bundle = resourceBundle();
+      return bundle != null && bundle.containsKey(key) ? bundle.getString(key) : key;
+    }, localeProperty());
+  }
+
+  private static ResourceBundle bundle (String baseName, ClassLoader classLoader) {
+    return instance().localization.bundle(baseName, classLoader, Navigator::getResource);
+  }
+
+  // The bundle the route's FXML is loaded with, null if neither the route nor the Navigator has one
+  // The route's bundle for an FXML loader, recording which keys the loader resolves
+  private static Localization.RecordingBundle routeBundle (Route route) {
+    String baseName = instance().localization.baseName(route);
+    return baseName != null ? Localization.recording(bundle(baseName, route.classLoader)) : null;
+  }
+
+  // Remembers which texts of a new view come from its bundle, so a locale switch can translate them in place
+  private static void localize (Route route, Parent view, Localization.RecordingBundle resolved) {
+    String baseName = instance().localization.baseName(route);
+    if (baseName != null) {
+      instance().localization.tag(view, baseName, route.classLoader, resolved);
+    }
+  }
+
+  private static void relocalizeViews () {
+    var navigator = instance();
+    List<Parent> roots = new ArrayList<>();
+    for (Window window : Window.getWindows()) {
+      if (window.getScene() != null && window.getScene().getRoot() != null) {
+        roots.add(window.getScene().getRoot());
+      }
+    }
+    navigator.sceneCache.values().forEach(loaded -> roots.add(loaded.view));
+    navigator.layoutCache.values().forEach(layout -> roots.add(layout.root));
+    navigator.viewPool.forEach((key, loaded) -> roots.add(loaded.view));
+    navigator.dialogPool.forEach((key, loaded) -> roots.add(loaded.view));
+    navigator.localization.relocalize(roots, Navigator::getResource);
+  }
+
+  // Headless Rendering
+
+  /**
+   * Renders each URL to a PNG image in the output directory, one batch per available processor at a time.
+   *
+   * @see #renderToImages(List, Path, double, double, int)
+   */
+  public static CompletableFuture<RenderReport> renderToImages (List<String> urls, Path outputDirectory,
+                                                                double width, double height) {
+    return renderToImages(urls, outputDirectory, width, height, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Renders each URL to a PNG image in the output directory without touching the screen, e.g. for
+   * reports or visual regression checks. Each URL is matched and goes through middleware and the
+   * route guard like a navigation, but no hooks run, no history is kept and redirects aren't followed.
+   * Its view, layout and outlets are built fresh, so live and cached views stay where they are.
+   * <p>
+   * URLs are processed in batches: the views of a batch are built in parallel on the executor, then
+   * snapshotted in offscreen scenes on the FX thread, and encoded in parallel. The report tells the
+   * outcome of each URL and the throughput.
+   */
+  public static CompletableFuture<RenderReport> renderToImages (List<String> urls, Path outputDirectory,
+                                                                double width, double height, int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be at least 1");
+    }
+    return new HeadlessRenderer(outputDirectory, width, height, batchSize, executor()).render(urls);
+  }
+
+  /**
+   * Decides a headless render on the FX thread like a navigation would, through matching, middleware and
+   * the guard. Returns why the URL can't be rendered, or null if it can.
+   */
+  static RenderReport.Entry checkRender (String url, Route route, NavRequest navRequest) {
+    if (route == null) {
+      return new RenderReport.Entry(url, RenderReport.Status.NOT_FOUND, null, "No route for URL");
+    }
+    // A layout given as an instance is the one on screen: it can't be filled off the FX thread or put in another scene
+    if (route.getLayoutRoot() != null) {
+      return new RenderReport.Entry(url, RenderReport.Status.FAILED, null,
+                                    "Layout instance not renderable, use a layout creator or FXML layout");
+    }
+    MiddlewareResponse response = runPipeline(pipelineFor(route, navRequest.url()), navRequest);
+    if (!response.shouldProceed()) {
+      return new RenderReport.Entry(url, RenderReport.Status.BLOCKED, null,
+                                    "Middleware: " + response.getRedirectUrl().or(response::getMessage).orElse(""));
+    }
+    if (route.guard != null) {
+      var guardResponse = evaluateGuard(route, navRequest);
+      if (!guardResponse.isAllowed()) {
+        return new RenderReport.Entry(url, RenderReport.Status.BLOCKED, null, "Guard: " + guardResponse.getMessage().orElse(""));
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Builds a fresh view of the route inside a fresh layout with its outlets, for headless rendering.
+   * Routes whose layout is a shared instance are turned away by {@link #checkRender}.
+   */
+  static Parent buildForRender (Route route, NavRequest navRequest) throws IOException {
+    if (route.getLayoutRoot() != null) {
+      throw new NavigationException("Layout instance not renderable: " + route.getFullUrl());
+    }
+    Parent view = loadView(route, navRequest).view;
+    if (route.layoutKey() == null) {
+      return view;
+    }
+    LoadedLayout layout = createLayout(route, navRequest);
+    layout.controller.setContent(view);
+    Map<String, Parent> outlets = new LinkedHashMap<>();
+    for (var outlet : route.outlets().entrySet()) {
+      NavRequest outletRequest = outletRequest(outlet.getValue(), navRequest);
+      Route outletRoute = matchRoute(outletRequest);
+      if (outletRoute == null) {
+        throw new RouteNotFoundException("Route not found for outlet '" + outlet.getKey() + "': " + outlet.getValue());
+      }
+      outlets.put(outlet.getKey(), loadView(outletRoute, outletRequest).view);
+    }
+    fillOutlets(layout, outlets);
+    return layout.root;
+  }
+
+  // Rendered scenes look like the primary one
+  static List<String> sceneStylesheets () {
+    Scene scene = getPrimaryScene();
+    return scene != null ? List.copyOf(scene.getStylesheets()) : List.of();
+  }
+
+  // Recording and Replay
+
+  /**
+   * Appends every navigation from now on to a recording file: URL, data type, outcome and phase timings.
+   * Replay it with {@link #replay(Path)} to reproduce long sessions. Closing the handle stops recording.
+   *
+   * @throws IllegalStateException if navigations are already being recorded
+   */
+  public static Closeable recordNavigations (Path file) {
+    var navigator = instance();
+    NavigationRecorder recording;
+    synchronized (navigator) {
+      if (navigator.recorder != null) {
+        throw new IllegalStateException("Navigations are already being recorded");
+      }
+      try {
+        recording = NavigationRecorder.open(file);
+      } catch (IOException e) {
+        throw new NavigationException("Failed to open navigation recording " + file, e);
+      }
+      navigator.recorder = recording;
+    }
+    return () -> {
+      synchronized (navigator) {
+        if (navigator.recorder == recording) {
+          navigator.recorder = null;
+        }
+      }
+      recording.close();
+    };
+  }
+
+  /**
+   * Reads a recording made with {@link #recordNavigations(Path)} into a replay driver. Configure it and
+   * call {@link NavigationReplay#run()} once the routes are defined.
+   */
+  public static NavigationReplay replay (Path recording) {
+    try {
+      return new NavigationReplay(NavigationRecorder.read(recording));
+    } catch (IOException e) {
+      throw new NavigationException("Failed to read navigation recording " + recording, e);
+    }
+  }
+
+  // Diagnostics Methods
+
+  /**
+   * Measures the views kept in the scene cache, layout cache and pools, and lists evicted views that
+   * were never garbage collected. Walks the scene graph, so call it on the FX thread.
+   */
+  public static MemoryReport memoryReport () {
+    var navigator = instance();
+    List<MemoryReport.ViewFootprint> views = new ArrayList<>();
+    navigator.sceneCache.forEach((key, loaded) ->
+        views.add(MemoryProfiler.measure(key, MemoryReport.Kind.SCENE, loaded.view)));
+    navigator.layoutCache.forEach((key, layout) ->
+        views.add(MemoryProfiler.measure(key, MemoryReport.Kind.LAYOUT, layout.root)));
+    navigator.viewPool.forEach((key, loaded) ->
+        views.add(MemoryProfiler.measure(key, MemoryReport.Kind.POOLED, loaded.view)));
+    navigator.dialogPool.forEach((key, loaded) ->
+        views.add(MemoryProfiler.measure(key, MemoryReport.Kind.POOLED, loaded.view)));
+    return new MemoryReport(views, navigator.memoryProfiler.leakSuspects());
+  }
+
+  /**
+   * Sets how long an evicted view may stay reachable before it is reported as a leak suspect (30 seconds by default).
+   */
+  public static void setLeakGracePeriod (Duration gracePeriod) {
+    if (gracePeriod == null || gracePeriod.isNegative()) {
+      throw new IllegalArgumentException("Grace period must not be negative");
+    }
+    instance().memoryProfiler.setGracePeriod(gracePeriod);
+  }
+
+  /**
+   * Shows or hides the diagnostics window, refreshed every second while visible. It shows the
+   * current route, history, scene cache hit rates, the last navigations with their phase timings,
+   * the layout time of the primary scene's pulses and the memory report.
+   */
+  public static void toggleDebugOverlay () {
+    instance().debugOverlay.toggle(getPrimaryStage());
+  }
+
+  /**
+   * Sets the key toggling the diagnostics window on the primary stage, e.g. F12 in development builds.
+   * None is set by default; null disables it again.
+   */
+  public static void setDebugOverlayHotkey (KeyCombination hotkey) {
+    instance().debugOverlayHotkey = hotkey;
+  }
+
+  private static String describeDiagnostics () {
+    var navigator = instance();
+    StringBuilder out = new StringBuilder();
+    out.append("Route: ").append(currentRoute().map(Route::getFullUrl).orElse("-"));
+    if (navigator.currentLayoutKey != null) {
+      out.append(" in layout ").append(navigator.currentLayoutKey);
+    }
+    out.append(System.lineSeparator());
+    List<String> history = new ArrayList<>();
+    navigator.navigationStack.descendingIterator().forEachRemaining(state -> history.add(state.url));
+    out.append("History: ").append(String.join(" > ", history)).append(System.lineSeparator());
+    navigator.debugOverlay.describePulses(out);
+    navigator.navigationStats.describe(out);
+    out.append(System.lineSeparator()).append(resourceStats()).append(System.lineSeparator());
+    out.append(System.lineSeparator()).append(memoryReport());
+    return out.toString();
+  }
+
+  // Executor Methods
+
+  /**
+   * Returns the executor used for navigation side work, backed by virtual threads by default.
+   */
+  public static synchronized ExecutorService executor () {
+    var navigator = instance();
+    if (navigator.executor == null) {
+      navigator.executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+    return navigator.executor;
+  }
+
+  /**
+   * Replaces the executor used for navigation side work.
+   */
+  public static synchronized void setExecutor (ExecutorService executor) {
+    instance().executor = Objects.requireNonNull(executor, "Executor can't be null");
+  }
+
+  /**
+   * Returns the scope of the current navigation, cancelled when the user navigates away.
+   */
+  public static Optional<NavigationScope> currentScope () {
+    return Optional.ofNullable(instance().currentScope);
   }
 
   // Middleware Methods
@@ -417,65 +938,308 @@ public class Navigator {
    * Adds a middleware function to be executed before navigation.
    */
   public Navigator use (Middleware... middlewares) {
-    for(var middleware : middlewares){
-      getMiddlewares().add(middleware);
-    }
-    return this;
+    return addMiddlewares(null, null, middlewares);
   }
 
   public static void middleware (Middleware... middlewares){
     instance().use(middlewares);
   }
 
-  private static List<Middleware> getMiddlewares () {
-    return instance().middlewares;
+  /**
+   * Adds middleware that only runs for URLs equal to or below the given prefix.
+   */
+  public static void middleware (String urlPrefix, Middleware... middlewares) {
+    instance().addMiddlewares(RouteTable.normalize(urlPrefix), null, middlewares);
+  }
+
+  /**
+   * Adds middleware that only runs for routes carrying the given tag.
+   */
+  public static void middlewareForTag (String tag, Middleware... middlewares) {
+    instance().addMiddlewares(null, Objects.requireNonNull(tag, "Tag can't be null"), middlewares);
+  }
+
+  private Navigator addMiddlewares (String prefix, String tag, Middleware... middlewares) {
+    for (var middleware : middlewares) {
+      this.middlewares.add(new ScopedMiddleware(middleware, prefix, tag, ownerId()));
+    }
+    middlewareVersion++;
+    return this;
+  }
+
+  /**
+   * Returns the middleware that apply to the route, computed once per route and reused
+   * until middleware is registered again.
+   */
+  private static Middleware[] pipelineFor (Route route, String url) {
+    var navigator = instance();
+    int version = navigator.middlewareVersion;
+    if (route == null) {
+      // Unknown URLs still go through unscoped and matching prefix middleware, e.g. auth redirects
+      return buildPipeline(null, RouteTable.normalize(url));
+    }
+    if (route.pipeline == null || route.pipelineVersion != version) {
+      route.pipeline = buildPipeline(route, RouteTable.normalize(route.getFullUrl()));
+      route.pipelineVersion = version;
+    }
+    return route.pipeline;
+  }
+
+  // Runs until the first middleware that does not proceed
+  private static MiddlewareResponse runPipeline (Middleware[] pipeline, NavRequest navRequest) {
+    for (Middleware middleware : pipeline) {
+      MiddlewareResponse response = middleware.beforeNavigate(navRequest);
+      if (!response.shouldProceed()) {
+        return response;
+      }
+    }
+    return MiddlewareResponse.proceed();
+  }
+
+  private static Middleware[] buildPipeline (Route route, String path) {
+    return instance().middlewares.stream()
+        .filter(scoped -> scoped.appliesTo(route, path))
+        .map(scoped -> scoped.middleware)
+        .toArray(Middleware[]::new);
+  }
+
+  // Event Methods
+
+  /**
+   * Registers a listener for navigation events, invoked on the FX thread after the navigation
+   * step that produced the event. Without types, the listener receives every event.
+   */
+  public static NavigationEvent.Subscription addNavigationListener (NavigationEvent.Listener listener,
+                                                                    NavigationEvent.Type... types) {
+    return addNavigationListener(listener, HookThread.FX, types);
+  }
+
+  /**
+   * Registers a listener for navigation events on the FX thread or, in order, on the Navigator executor.
+   */
+  public static NavigationEvent.Subscription addNavigationListener (NavigationEvent.Listener listener, HookThread thread,
+                                                                    NavigationEvent.Type... types) {
+    Objects.requireNonNull(listener, "Listener can't be null");
+    return instance().eventBus.subscribe(listener, thread, Navigator::executor, ownerId(), types);
+  }
+
+  private static void publishEvent (NavigationEvent.Type type, String url, Route route, String detail,
+                                    Throwable error, long durationNanos) {
+    instance().eventBus.publish(type, url, route, detail, error, durationNanos);
+  }
+
+  // Error Handling Methods
+
+  /**
+   * Registers a handler for navigation failures of the given type that the task's own
+   * {@code onError} handlers don't handle. The handler for the closest superclass wins.
+   */
+  public static void addErrorHandler (Class<? extends NavigationException> exceptionClass,
+                                      Consumer<? super NavigationException> handler) {
+    if (exceptionClass == null || handler == null) {
+      throw new IllegalArgumentException("Exception class and handler must not be null");
+    }
+    instance().errorPipeline.addHandler(exceptionClass, handler, ownerId());
+  }
+
+  /**
+   * Sets where navigation failures are reported, off the FX thread. Defaults to {@link ErrorSink#console()}.
+   */
+  public static void setErrorSink (ErrorSink sink) {
+    instance().errorPipeline.setSink(Objects.requireNonNull(sink, "Error sink can't be null"));
+  }
+
+  /**
+   * Sets the route shown for unhandled navigation failures of routes without their own
+   * {@link Route#onError(String)}. The exception is passed as the navigation data.
+   */
+  public static void setErrorRoute (String url) {
+    instance().errorPipeline.setErrorRoute(url);
+  }
+
+  /**
+   * Limits how often the same failure (exception class and URL) is reported and redirected to the
+   * error route. Defaults to 3 per 10 seconds; dropped reports are counted in the next one.
+   */
+  public static void setErrorRateLimit (int maxReports, Duration window) {
+    instance().errorPipeline.setRateLimit(maxReports, Objects.requireNonNull(window, "Window can't be null"));
+  }
+
+  static boolean reportError (String url, Throwable error) {
+    return instance().errorPipeline.report(url, error);
+  }
+
+  // Guard Cache Methods
+
+  /**
+   * Sets the supplier of the current principal (user, session...), used to key cached guard decisions.
+   */
+  public static void setPrincipalSupplier (Supplier<?> principalSupplier) {
+    instance().principalSupplier = Objects.requireNonNull(principalSupplier, "Principal supplier can't be null");
+  }
+
+  /**
+   * Drops every cached guard decision, e.g. on login, logout or a change of permissions.
+   */
+  public static void invalidateGuards () {
+    instance().guardCache.invalidateAll();
+  }
+
+  /**
+   * Drops the cached guard decisions of one principal.
+   */
+  public static void invalidateGuards (Object principal) {
+    instance().guardCache.invalidatePrincipal(principal);
+  }
+
+  /**
+   * Drops the cached guard decisions of one route.
+   */
+  public static void invalidateGuards (Route route) {
+    instance().guardCache.invalidateRoute(RouteTable.normalize(route.getFullUrl()));
+  }
+
+  private static RouteGuardResponse evaluateGuard (Route route, NavRequest navRequest) {
+    if (route.guardTtl == null) {
+      return route.guard.allowNavigate(navRequest);
+    }
+    var navigator = instance();
+    return navigator.guardCache.decide(RouteTable.normalize(route.getFullUrl()), RouteTable.normalize(navRequest.url()),
+                                       navigator.principalSupplier.get(),
+                                       route.guardTtl, () -> route.guard.allowNavigate(navRequest));
   }
 
   // Helper Methods
 
-  private static void addRoute (Route route) {
-    String[] segments = route.fullUrl.split("/");
-    if (segments.length == 0) {
-      getRoutes().put("", route);
+  // Publishes a new snapshot with the routes, all of them or none if the table is compiled and they break it
+  private static void addRoutes (List<Route> added) {
+    var navigator = instance();
+    PluginOwner plugin = REGISTERING_PLUGIN.get();
+    if (plugin != null) {
+      for (var route : added) {
+        route.owner = plugin.id();
+        route.classLoader = plugin.classLoader();
+      }
+    }
+    synchronized (navigator.routeLock) {
+      navigator.routeTable = navigator.routeTable.with(added, Navigator::getResource, executor());
+    }
+  }
+
+  private record PluginOwner(String id, ClassLoader classLoader) {
+  }
+
+  private static String ownerId () {
+    PluginOwner plugin = REGISTERING_PLUGIN.get();
+    return plugin != null ? plugin.id() : null;
+  }
+
+  /**
+   * Runs a plugin's registration, marking the routes, middleware, navigation listeners and error
+   * handlers it adds as owned by the plugin.
+   * Routes of plugins loaded from jars resolve their FXML and resources with the given class loader.
+   */
+  static void registerAs (String pluginId, ClassLoader classLoader, Runnable registration) {
+    PluginOwner previous = REGISTERING_PLUGIN.get();
+    REGISTERING_PLUGIN.set(new PluginOwner(pluginId, classLoader));
+    try {
+      registration.run();
+    } finally {
+      REGISTERING_PLUGIN.set(previous);
+    }
+  }
+
+  /**
+   * Removes everything a plugin registered. Routes and middleware go at once, so no new navigation
+   * reaches the plugin; its cached views, pooled views and layouts are dropped on the FX thread.
+   * The view on screen, if it is the plugin's, stays until the user navigates away.
+   */
+  static void removePluginContributions (String pluginId) {
+    var navigator = instance();
+    List<Route> removed;
+    synchronized (navigator.routeLock) {
+      removed = navigator.routeTable.routes().stream()
+          .filter(route -> pluginId.equals(route.owner))
+          .toList();
+      if (!removed.isEmpty()) {
+        navigator.routeTable = navigator.routeTable.without(removed);
+      }
+    }
+    if (navigator.middlewares.removeIf(middleware -> pluginId.equals(middleware.owner))) {
+      navigator.middlewareVersion++;
+    }
+    navigator.eventBus.unsubscribeOwnedBy(pluginId);
+    navigator.errorPipeline.removeHandlersOwnedBy(pluginId);
+    if (removed.isEmpty()) {
       return;
     }
-    Map<String, Route> currentRoutes = getRoutes();
-    for (int i = 1; i < segments.length; i++) {
-      String segment = segments[i];
-      if (segment.isEmpty()) continue;
-      Route existingRoute = currentRoutes.get(segment);
-      if (existingRoute == null) {
-        if (i == segments.length - 1) {
-          // Last segment, add the route
-          currentRoutes.put(segment, route);
-          existingRoute = route;
-        } else {
-          // Intermediate segment, create a placeholder route
-          existingRoute = new Route((String) null, "/" + String.join("/", Arrays.copyOfRange(segments, 1, i + 1)));
-          currentRoutes.put(segment, existingRoute);
-        }
+    removed.stream()
+        .map(route -> route.classLoader)
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(classLoader -> {
+          navigator.resourceCache.evict(classLoader);
+          navigator.localization.evict(classLoader);
+        });
+    if (Platform.isFxApplicationThread()) {
+      evictRoutes(removed);
+    } else {
+      Platform.runLater(() -> evictRoutes(removed));
+    }
+  }
+
+  private static void evictRoutes (List<Route> removed) {
+    var navigator = instance();
+    Set<String> layoutKeys = new HashSet<>();
+    for (var route : removed) {
+      String cacheKey = route.getFullUrl();
+      LoadedView cached = navigator.sceneCache.remove(cacheKey);
+      if (cached != null) {
+        publishEvent(NavigationEvent.Type.CACHE_EVICTED, cacheKey, route, null, null, 0);
+        navigator.memoryProfiler.watch(cacheKey, cached.view);
+      }
+      navigator.viewPool.evict(cacheKey);
+      navigator.dialogPool.evict(cacheKey);
+      navigator.guardCache.invalidateRoute(RouteTable.normalize(cacheKey));
+      if (route.layoutKey() != null) {
+        layoutKeys.add(route.layoutKey());
+      }
+      if (navigator.recycledRoute == route) {
+        // Not pooled again when replaced, the route is gone
+        navigator.recycledRoute = null;
+        navigator.recycledView = null;
+      }
+    }
+    // Layouts still used by other routes, or on screen, stay cached
+    for (var route : navigator.routeTable.routes()) {
+      layoutKeys.remove(route.layoutKey());
+    }
+    layoutKeys.remove(navigator.currentLayoutKey);
+    for (String layoutKey : layoutKeys) {
+      LoadedLayout layout = navigator.layoutCache.remove(layoutKey);
+      if (layout != null) {
+        navigator.memoryProfiler.watch(layoutKey, layout.root);
       }
-      route.parentRoute = existingRoute;
-      currentRoutes = existingRoute.childRoutes;
     }
   }
 
-  private static void addLayoutRoute (RouteLayout layout) {
+  private static void addLayoutRoute (RouteLayout layout, List<Route> added) {
     for (var child : layout.children()) {
       if (layout.getLayoutPath() != null) {
         child.setLayoutPath(layout.getLayoutPath());
       } else if (layout.getLayoutCreator() != null) {
         child.setLayoutCreator(layout.getLayoutCreator());
       }
-      addRoute(child);
+      child.tag(layout.tags().toArray(String[]::new));
+      added.add(child);
     }
   }
 
-  private static Map<String, Route> getRoutes () {
-    return instance().routes;
+  static NavRequest parseUrl (String url, Object data) {
+    return parseUrl(url, data, new NavigationScope(executor()));
   }
 
-  private static NavRequest parseUrl (String url, Object data) {
+  private static NavRequest parseUrl (String url, Object data, NavigationScope scope) {
     String[] parts = url.split("\\?");
     String path = parts[0];
     Map<String, String> queryParams = new HashMap<>();
@@ -490,27 +1254,22 @@ public class Navigator {
         }
       });
     }
-    return new NavRequest(path, queryParams, new HashMap<>(), data);
+    return new NavRequest(path, queryParams, new HashMap<>(), data, scope);
+  }
+
+  // An outlet view gets the path and query parameters of its own URL, and the scope of the navigation showing it
+  private static NavRequest outletRequest (String url, NavRequest navRequest) {
+    return parseUrl(url, null, navRequest.scope());
   }
 
 
-  private static Route matchRoute (String url) {
-    String[] segments = url.split("/");
-    if (segments.length == 0) return null;
-    return matchRouteRecursive(getRoutes(), segments, 1);
+  static Route matchRoute (String url) {
+    return instance().routeTable.match(url);
   }
 
-  private static Route matchRouteRecursive (Map<String, Route> currentRoutes, String[] segments, int index) {
-    if (index >= segments.length) return null;
-    String segment = segments[index];
-    if (segment.isEmpty()) {
-      // Skip empty segments
-      return matchRouteRecursive(currentRoutes, segments, index + 1);
-    }
-    Route route = currentRoutes.get(segment);
-    if (route == null) return null;
-    if (index == segments.length - 1) return route;
-    return matchRouteRecursive(route.childRoutes, segments, index + 1);
+  // Also hands the request the converted path parameters of the matched route
+  static Route matchRoute (NavRequest navRequest) {
+    return instance().routeTable.match(navRequest);
   }
 
   private static void injectNavRequest (Object controller, NavRequest navRequest) {
@@ -542,7 +1301,30 @@ public class Navigator {
     }
   }
 
+  // Routes registered by plugins loaded from jars find their resources in the plugin's class loader first
+  private static URL getResource (Route route, String path) {
+    return getResource(route != null ? route.classLoader : null, path);
+  }
+
+  private static URL getResource (ClassLoader classLoader, String path) {
+    if (classLoader != null) {
+      URL resource = instance().resourceCache.resolve(classLoader, null, path,
+          () -> classLoader.getResource(path.startsWith("/") ? path.substring(1) : path));
+      if (resource != null) {
+        return resource;
+      }
+    }
+    return getResource(path);
+  }
+
+  // Resolved once per path, later lookups of the same path (found or not) skip the class loaders
   private static URL getResource (String path) {
+    // A miss seen through one thread's context class loader says nothing about another's
+    return instance().resourceCache.resolve(null, Thread.currentThread().getContextClassLoader(), path,
+                                            () -> probeResource(path));
+  }
+
+  private static URL probeResource (String path) {
     URL resource = null;
     ResourceLoader resourceLoader = instance().resourceLoader;
     // First, try using the baseReference's class loader
@@ -564,43 +1346,54 @@ public class Navigator {
   private static LoadedLayout getLayout (Route route, String layoutKey, NavRequest navRequest) throws IOException {
     var layoutCache = instance().layoutCache;
     if (layoutCache.containsKey(layoutKey)) {
-      return layoutCache.get(layoutKey);
-    } else {
-      Parent layoutRoot;
-      NavLayout layoutController = null;
-
-      // Load the layout
-      if (route.getLayoutRoot() != null) {
-        // Use the provided layout root
-        layoutRoot = route.getLayoutRoot();
-        layoutController = new NavLayoutFn(layoutRoot, route.getSetContentFunction());
-      } else if (route.getLayoutPath() != null) {
-        FXMLLoader layoutLoader = new FXMLLoader(getResource(route.getLayoutPath()));
-        layoutRoot = layoutLoader.load();
-        layoutController = layoutLoader.getController();
-      } else if (route.getLayoutCreator() != null) {
-        layoutRoot = route.getLayoutCreator().apply(navRequest);
-        var userdata = layoutRoot.getUserData();
-        if (layoutRoot instanceof NavLayout layout) {
-          layoutController = layout;
-        } else if (userdata != null
-            && userdata instanceof NavLayout layout) {
-          layoutController = layout;
-        }
-        if (layoutController == null) {
-          throw new NavigationException("Layout controller not found for Java layout");
-        }
-        // Assume layoutCreator provides both root and controller
-      } else {
-        throw new NavigationException("No layout information available");
-      }
-
-      LoadedLayout loadedLayout = new LoadedLayout(layoutRoot, layoutController);
+      return layoutCache.get(layoutKey);
+    } else {
+      LoadedLayout loadedLayout = createLayout(route, navRequest);
       layoutCache.put(layoutKey, loadedLayout);
       return loadedLayout;
     }
   }
 
+  private static LoadedLayout createLayout (Route route, NavRequest navRequest) throws IOException {
+    Parent layoutRoot;
+    NavLayout layoutController = null;
+    Localization.RecordingBundle resolved = null;
+
+    // Load the layout
+    if (route.getLayoutRoot() != null) {
+      // Use the provided layout root
+      layoutRoot = route.getLayoutRoot();
+      layoutController = new NavLayoutFn(layoutRoot, route.getSetContentFunction());
+    } else if (route.getLayoutPath() != null) {
+      FXMLLoader layoutLoader = new FXMLLoader(getResource(route, route.getLayoutPath()));
+      if (route.classLoader != null) {
+        layoutLoader.setClassLoader(route.classLoader);
+      }
+      resolved = routeBundle(route);
+      layoutLoader.setResources(resolved);
+      layoutRoot = layoutLoader.load();
+      layoutController = layoutLoader.getController();
+    } else if (route.getLayoutCreator() != null) {
+      layoutRoot = route.getLayoutCreator().apply(navRequest);
+      var userdata = layoutRoot.getUserData();
+      if (layoutRoot instanceof NavLayout layout) {
+        layoutController = layout;
+      } else if (userdata != null
+          && userdata instanceof NavLayout layout) {
+        layoutController = layout;
+      }
+      if (layoutController == null) {
+        throw new NavigationException("Layout controller not found for Java layout");
+      }
+      // Assume layoutCreator provides both root and controller
+    } else {
+      throw new NavigationException("No layout information available");
+    }
+
+    localize(route, layoutRoot, resolved);
+    return new LoadedLayout(layoutRoot, layoutController);
+  }
+
 
   // Inner Classes and Interfaces
 
@@ -611,11 +1404,25 @@ public class Navigator {
     private Map<Class<? extends NavigationException>, Consumer<? super NavigationException>> errorHandlers;
     private TransitionType transitionType = TransitionType.NONE;
     private NavigationException navigationException;
+    private Route matchedRoute;
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+    private long startedAt;
+    private long phaseStartedAt;
+    private final long[] phaseNanos = new long[NavigationStats.Phase.values().length];
+    // Set when the view is built in the background and swapped in for a placeholder once ready
+    private CompletableFuture<LoadedView> pendingView;
+    // Redirects aren't recorded: replaying the navigation that redirected repeats them
+    private boolean redirect;
+    private String outcome;
+    // Completes once the outcome is known, which for a placeholder is when its view is swapped in
+    private final CompletableFuture<Void> settled = new CompletableFuture<>();
+    // The navigation that middleware or the guard redirected to, whose result becomes this one's
+    private NavigationTask redirectedTo;
 
     public NavigationTask (String url, Object data) {
       this.url = url;
       this.data = data;
-      this.errorHandlers = new HashMap<>();
+      this.errorHandlers = new LinkedHashMap<>();
     }
 
     public NavigationTask onError (Class<? extends NavigationException> exceptionClass, Consumer<? super NavigationException> handler) {
@@ -650,40 +1457,60 @@ public class Navigator {
       return this;
     }
 
+    /**
+     * Result of the navigation. For dialog routes it completes with the value passed to
+     * {@link NavRequest#closeDialog(Object)}, or null when the dialog is dismissed; for other
+     * routes it completes with null once the view is shown. Fails if the navigation fails or is
+     * blocked; a redirected navigation completes with the result of the navigation it redirected to.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> result () {
+      return (CompletableFuture<T>) result;
+    }
+
     @Override
     public void run() {
+      NavRequest navRequest = null;
+      LoadedView recycled = null;
+      boolean committed = false;
+      startedAt = System.nanoTime();
+      phaseStartedAt = startedAt;
+      publishEvent(NavigationEvent.Type.STARTED, url, null, null, null, 0);
       try {
         // Parse URL and data
-        NavRequest navRequest = Navigator.parseUrl(url, data);
-        // Apply global middleware
-        for (Middleware middleware : getMiddlewares()) {
-          MiddlewareResponse response = middleware.beforeNavigate(navRequest);
-          if (!response.shouldProceed()) {
-            checkResponse(response.getAction(), response.getMessage(), response.getConsumer());
-            response.getRedirectUrl().ifPresent(redirectUrl -> {
-              Navigator.navigateTo(redirectUrl, data);
-            });
-            return;
-          }
-        }
-        // Match newRoute
+        navRequest = Navigator.parseUrl(url, data);
+        // Match newRoute, then apply the middleware that applies to it
         Route currentRoute = currentRoute().orElse(null);
-        Route newRoute = Navigator.matchRoute(navRequest.url());
+        Route newRoute = Navigator.matchRoute(navRequest);
+        MiddlewareResponse response = runPipeline(pipelineFor(newRoute, navRequest.url()), navRequest);
+        endPhase(NavigationStats.Phase.ROUTING);
+        if (!response.shouldProceed()) {
+          publishEvent(NavigationEvent.Type.BLOCKED, url, newRoute,
+                       response.getRedirectUrl().or(response::getMessage).orElse(null), null, elapsed());
+          checkResponse(response.getAction(), response.getMessage(), response.getConsumer());
+          response.getRedirectUrl().ifPresent(redirectUrl -> {
+            redirectedTo = redirectTo(redirectUrl, data);
+          });
+          return;
+        }
         if (newRoute == null) {
           throw new RouteNotFoundException("Route not found for URL: " + navRequest.url());
         }
-        if (currentRoute != null && currentRoute.beforeExit != null) {
-          currentRoute.beforeExit.accept(navRequest);
+        matchedRoute = newRoute;
+        if (currentRoute != null) {
+          runExitHook(currentRoute.beforeExit, navRequest);
         }
 
         // Apply newRoute guard if present
         if (newRoute.guard != null) {
-          var response = newRoute.guard.allowNavigate(navRequest);
-          if (!response.isAllowed()) {
-            checkResponse(response.getAction(), response.getMessage(), response.getConsumer());
-            var redirectUrl = response.getRedirectUrl().orElse(newRoute.redirectUrl);
+          var guardResponse = evaluateGuard(newRoute, navRequest);
+          if (!guardResponse.isAllowed()) {
+            checkResponse(guardResponse.getAction(), guardResponse.getMessage(), guardResponse.getConsumer());
+            var redirectUrl = guardResponse.getRedirectUrl().orElse(newRoute.redirectUrl);
+            publishEvent(NavigationEvent.Type.BLOCKED, url, newRoute,
+                         redirectUrl != null ? redirectUrl : guardResponse.getMessage().orElse(null), null, elapsed());
             if (redirectUrl != null) {
-              Navigator.navigateTo(redirectUrl);
+              redirectedTo = redirectTo(redirectUrl, null);
             } else {
               throw new NavigationException("Navigation blocked by newRoute guard for URL: " + navRequest.url());
             }
@@ -691,49 +1518,60 @@ public class Navigator {
           }
         }
         // Invoke beforeEnter on new route
-        if (newRoute.beforeEnter != null) {
-          newRoute.beforeEnter.accept(navRequest);
-        }
+        runEnterHook(newRoute.beforeEnter, navRequest);
+        // Views of named outlets are built in the background while the main view loads here
+        List<PendingOutlet> pendingOutlets = loadOutlets(newRoute, navRequest);
+        endPhase(NavigationStats.Phase.GUARDS);
         Parent root = null;
-        Parent view = loadViewForRoute(newRoute, navRequest);
+        DialogPool.PooledDialog dialog = null;
+        Parent view;
+        if (newRoute.displayInDialog) {
+          final NavRequest request = navRequest;
+          dialog = getDialogPool().acquire(newRoute, getPrimaryStage(), () -> loadView(newRoute, request));
+          if (dialog.reused) {
+            dialog.loaded.deliver(navRequest);
+          }
+          view = dialog.loaded.view;
+        } else if (newRoute.recycleSize > 0) {
+          recycled = acquireRecycledView(newRoute, navRequest);
+          view = recycled.view;
+        } else {
+          view = loadViewOrPlaceholder(newRoute, navRequest);
+        }
+        Map<String, Parent> outlets = awaitOutlets(newRoute, pendingOutlets);
+        endPhase(NavigationStats.Phase.LOADING);
+        // Settle any transition in flight before the old view is captured or replaced
+        getTransitionEngine().interrupt();
+        Image outgoing = null;
         // Display the view
         if (newRoute.displayInDialog) {
-          // Create a new Stage for the dialog
-          Stage dialogStage = new Stage();
-          dialogStage.initModality(newRoute.modality);
-          dialogStage.setTitle(newRoute.stageName != null ? newRoute.stageName : getApplicationName());
-          dialogStage.setScene(new Scene(view, newRoute.width > 0 ? newRoute.width : defaultWidth(), newRoute.height > 0 ? newRoute.height : defaultHeight()));
-          dialogStage.initOwner(getPrimaryStage());
-          dialogStage.show();
+          // Show the pooled dialog stage, the task result completes when it is closed
+          dialog.show(navRequest, result,
+                      newRoute.stageName != null ? newRoute.stageName : getApplicationName(),
+                      newRoute.width > 0 ? newRoute.width : defaultWidth(),
+                      newRoute.height > 0 ? newRoute.height : defaultHeight());
         } else {
           //Layout setup
-          String layoutKey = null;
-          if (newRoute.getLayoutPath() != null) {
-            layoutKey = newRoute.getLayoutPath();
-          } else if (newRoute.getLayoutCreator() != null) {
-            layoutKey = newRoute.getLayoutCreator().toString();
+          String layoutKey = newRoute.layoutKey();
+          // Cross-fades stack the old content over the new one, which needs a layout shell that stays
+          if (transitionType == TransitionType.CROSS_FADE
+              && layoutKey != null && layoutKey.equalsIgnoreCase(instance().currentLayoutKey)) {
+            outgoing = getTransitionEngine().snapshot(instance().currentView);
           }
           if (layoutKey != null) {
-            if (instance().currentLayoutKey != null
-                && layoutKey.equalsIgnoreCase(instance().currentLayoutKey)) {
-              LoadedLayout loadedLayout = instance().currentLayout;
-              if (loadedLayout.controller instanceof NavLayout controller) {
-                controller.setContent(view);
-              } else {
-                throw new NavigationException("Layout controller must implement LayoutController");
-              }
-              root = loadedLayout.root;
+            boolean sameLayout = instance().currentLayoutKey != null
+                && layoutKey.equalsIgnoreCase(instance().currentLayoutKey);
+            LoadedLayout loadedLayout = sameLayout ? instance().currentLayout : getLayout(newRoute, layoutKey, navRequest);
+            if (loadedLayout.controller instanceof NavLayout controller) {
+              controller.setContent(view);
             } else {
-              LoadedLayout loadedLayout = getLayout(newRoute, layoutKey, navRequest);
-              if (loadedLayout.controller instanceof NavLayout controller) {
-                controller.setContent(view);
-              } else {
-                throw new NavigationException("Layout controller must implement LayoutController");
-              }
-              instance().currentLayoutKey = layoutKey;
-              instance().currentLayout = loadedLayout;
-              root = loadedLayout.root;
+              throw new NavigationException("Layout controller must implement LayoutController");
             }
+            // Outlets are filled in the same pulse as the main content
+            fillOutlets(loadedLayout, outlets);
+            instance().currentLayoutKey = layoutKey;
+            instance().currentLayout = loadedLayout;
+            root = loadedLayout.root;
           } else {
             root = view;
             instance().currentLayoutKey = null;
@@ -742,6 +1580,9 @@ public class Navigator {
 
           // Set the view in the primary scene
           getPrimaryScene().setRoot(root);
+          watchReplacedView(currentRoute, instance().currentView, view);
+          instance().currentView = view;
+          releaseRecycledView(recycled != null ? newRoute : null, recycled);
           Stage stage = getPrimaryStage();
           stage.setTitle(newRoute.stageName != null ? newRoute.stageName : getApplicationName());
           if (!(stage.isMaximized() || stage.isFullScreen())) {
@@ -756,28 +1597,125 @@ public class Navigator {
           }
         }
 
-        // Invoke afterEnter on new route
-        if (newRoute.afterEnter != null) {
-          newRoute.afterEnter.accept(navRequest);
+        // The previous route's background work is no longer needed
+        committed = true;
+        NavigationScope previousScope = instance().currentScope;
+        instance().currentScope = navRequest.scope();
+        if (previousScope != null) {
+          previousScope.cancel();
         }
 
+        // Invoke afterEnter on new route
+        runEnterHook(newRoute.afterEnter, navRequest);
+
         // Invoke afterExit on previous route
-        if (currentRoute != null && currentRoute.afterExit != null) {
-          currentRoute.afterExit.accept(navRequest);
+        if (currentRoute != null) {
+          runExitHook(currentRoute.afterExit, navRequest);
         }
         setCurrentRoute(newRoute);
 
-        // Apply transition if specified
-        applyTransition(root, transitionType);
+        // Apply transition if specified, to the content only so the layout shell stays still
+        if (root != null) {
+          getTransitionEngine().play(view, transitionType, getPrimaryScene().getWidth(), outgoing);
+          if (pendingView == null) {
+            result.complete(null);
+          } else {
+            Parent placeholder = view;
+            long shownAt = System.nanoTime();
+            long minimum = instance().placeholderMinDuration.toNanos();
+            // A placeholder stays up for a minimum time so a view ready just after it appeared doesn't flicker
+            pendingView.whenComplete((loaded, error) -> {
+              long remaining = minimum - (System.nanoTime() - shownAt);
+              Executor fxThread = remaining > 0
+                  ? CompletableFuture.delayedExecutor(remaining, TimeUnit.NANOSECONDS, Platform::runLater)
+                  : Platform::runLater;
+              fxThread.execute(() -> swapIn(newRoute, placeholder, loaded, error));
+            });
+          }
+        }
+        endPhase(NavigationStats.Phase.RENDERING);
+        // A navigation committed with a placeholder completes in swapIn, once its view is shown
+        if (pendingView == null) {
+          publishEvent(NavigationEvent.Type.COMPLETED, url, newRoute, null, null, elapsed());
+        }
 
       } catch (NavigationException e) {
         handleException(e);
       } catch (Exception e) {
         NavigationException ne = new NavigationException("Failed to navigate to URL: " + url, e);
         handleException(ne);
+      } finally {
+        if (!committed && navRequest != null) {
+          navRequest.scope().cancel();
+        }
+        if (!committed && recycled != null && recycled != instance().recycledView) {
+          instance().viewPool.release(matchedRoute, recycled);
+        }
+        if (!committed && !result.isDone()) {
+          if (redirectedTo != null) {
+            redirectedTo.result.whenComplete((value, error) -> {
+              if (error != null) {
+                result.completeExceptionally(error);
+              } else {
+                result.complete(value);
+              }
+            });
+          } else {
+            result.completeExceptionally(new NavigationException("Navigation blocked for URL: " + url));
+          }
+        }
+        if (!committed || pendingView == null) {
+          settle(committed ? "completed" : navigationException != null ? "failed" : "blocked");
+        }
+      }
+    }
+
+    // Records the navigation in the statistics and the recording
+    private void settle (String outcome) {
+      this.outcome = outcome;
+      instance().navigationStats.record(new NavigationStats.Trace(url, outcome, elapsed(), phaseNanos.clone()));
+      NavigationRecorder recording = instance().recorder;
+      if (recording != null && !redirect) {
+        recording.record(url, data, outcome, elapsed(), phaseNanos);
+      }
+      settled.complete(null);
+    }
+
+    // Background enter hooks belong to the new navigation and are cancelled with its scope
+    private void runEnterHook (RouteHook hook, NavRequest navRequest) {
+      if (hook == null) return;
+      if (hook.thread == HookThread.BACKGROUND) {
+        reportFailure(navRequest.scope().run(() -> hook.action.accept(navRequest)));
+      } else {
+        hook.action.accept(navRequest);
+      }
+    }
+
+    // Background exit hooks must not be cut short by leaving the route, so they run unscoped
+    private void runExitHook (RouteHook hook, NavRequest navRequest) {
+      if (hook == null) return;
+      if (hook.thread == HookThread.BACKGROUND) {
+        executor().execute(() -> {
+          try {
+            hook.action.accept(navRequest);
+          } catch (Exception e) {
+            reportError(url, e);
+          }
+        });
+      } else {
+        hook.action.accept(navRequest);
       }
     }
 
+    private void reportFailure (CompletableFuture<?> task) {
+      task.whenComplete((ignored, failure) -> {
+        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+        if (cause != null && !(cause instanceof CancellationException)) {
+          reportError(url, cause);
+        }
+      });
+    }
+
     private void checkResponse (Optional<Runnable> actionOpt, Optional<String> messageOpt, Optional<Consumer<String>> consumerOpt) {
       actionOpt.ifPresent(Runnable::run);
       messageOpt.ifPresent(message -> {
@@ -793,84 +1731,309 @@ public class Navigator {
       });
     }
 
-    private void handleException (NavigationException exception) {
-      this.navigationException = exception;
-      boolean handled = false;
-      for (Map.Entry<Class<? extends NavigationException>, Consumer<? super NavigationException>> entry : errorHandlers.entrySet()) {
-        if (entry.getKey().isAssignableFrom(exception.getClass())) {
-          entry.getValue().accept(exception);
-          handled = true;
-          // Do not break here if you want to allow multiple handlers
-          // For now, we'll break to prevent multiple invocations
-          break;
+    private long elapsed () {
+      return System.nanoTime() - startedAt;
+    }
+
+    Route matchedRoute () {
+      return matchedRoute;
+    }
+
+    /**
+     * "completed", "blocked" or "failed" once the task has run, null before.
+     */
+    String outcome () {
+      return outcome;
+    }
+
+    /**
+     * Completes when {@link #outcome()} is set, after the view replaced the placeholder if there was one.
+     */
+    CompletableFuture<Void> settled () {
+      return settled;
+    }
+
+    // Cached views are shown at once. Other views are built right here, unless the route has a placeholder
+    // and isn't known to build faster than the placeholder delay: then the view is built in the background
+    // and, if it isn't ready within the delay, the navigation commits with the placeholder instead.
+    private Parent loadViewOrPlaceholder (Route route, NavRequest navRequest) throws IOException {
+      LoadedView cached = cachedView(route, navRequest.url());
+      if (cached != null) {
+        cached.deliver(navRequest);
+        return cached.view;
+      }
+      var navigator = instance();
+      boolean moduleLoading = route.module != null && !navigator.viewModules.isLoaded(route.module);
+      Function<NavRequest, Parent> placeholder = route.placeholder != null ? route.placeholder : navigator.placeholder;
+      if (placeholder == null && moduleLoading) {
+        placeholder = request -> loadingPlaceholder();
+      }
+      long expected = navigator.navigationStats.expectedBuildNanos(route.getFullUrl());
+      long delay = navigator.placeholderDelay.toNanos();
+      if (placeholder == null || (!moduleLoading && expected >= 0 && expected < delay)) {
+        return cacheView(route, loadView(route, navRequest)).view;
+      }
+      CompletableFuture<LoadedView> building = navRequest.scope().supply(() -> loadView(route, navRequest));
+      try {
+        // Resolving a module takes longer than any delay, don't wait for it
+        LoadedView ready = building.get(moduleLoading ? 0 : delay, TimeUnit.NANOSECONDS);
+        return cacheView(route, ready).view;
+      } catch (TimeoutException e) {
+        pendingView = building;
+        return placeholder.apply(navRequest);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new NavigationException("Interrupted while loading view for URL: " + url, e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof NavigationException navigationException) {
+          throw navigationException;
         }
+        throw new NavigationException("Failed to load view for URL: " + url, e.getCause());
+      }
+    }
+
+    // Replaces the placeholder of a committed navigation with its view, unless the user navigated away meanwhile
+    // The wait for the view counts as loading, so the phases still add up to the total
+    private void swapIn (Route route, Parent placeholder, LoadedView loaded, Throwable error) {
+      var navigator = instance();
+      long now = System.nanoTime();
+      phaseNanos[NavigationStats.Phase.LOADING.ordinal()] += now - phaseStartedAt;
+      phaseStartedAt = now;
+      if (navigator.currentView != placeholder) {
+        // Superseded before its view was shown, counted like a blocked navigation
+        result.complete(null);
+        settle("blocked");
+        return;
       }
-      if (!handled) {
-        // If no handlers are registered for this exception, log it or re-throw
-        exception.printStackTrace();
-        // Optionally re-throw the exception
-        // throw exception;
+      if (error != null) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        // Unless a handler takes it, the failure replaces the placeholder with the error route
+        handleException(cause instanceof NavigationException navigationException
+            ? navigationException : new NavigationException("Failed to load view for URL: " + url, cause));
+        settle("failed");
+        return;
+      }
+      cacheView(route, loaded);
+      if (navigator.currentLayout != null) {
+        navigator.currentLayout.controller.setContent(loaded.view);
+      } else {
+        getPrimaryScene().setRoot(loaded.view);
       }
+      navigator.currentView = loaded.view;
+      result.complete(null);
+      publishEvent(NavigationEvent.Type.COMPLETED, url, route, null, null, elapsed());
+      settle("completed");
     }
 
-    private void applyTransition (Parent newView, TransitionType type) {
-      switch (type) {
-        case FADE:
-          FadeTransition ft = new FadeTransition(Duration.millis(500), newView);
-          ft.setFromValue(0);
-          ft.setToValue(1);
-          ft.play();
-          break;
-        case SLIDE_LEFT:
-          TranslateTransition tt = new TranslateTransition(Duration.millis(300), newView);
-          tt.setFromX(getPrimaryScene().getWidth());
-          tt.setToX(0);
-          tt.play();
-          break;
-        case SLIDE_RIGHT:
-          TranslateTransition tr = new TranslateTransition(Duration.millis(300), newView);
-          tr.setFromX(-getPrimaryScene().getWidth());
-          tr.setToX(0);
-          tr.play();
-          break;
-        case NONE:
-        default:
-          // No transition
-          break;
+    private void endPhase (NavigationStats.Phase phase) {
+      long now = System.nanoTime();
+      phaseNanos[phase.ordinal()] = now - phaseStartedAt;
+      phaseStartedAt = now;
+    }
+
+    // Task handlers first, then global ones; the failure is always reported, and shown on the
+    // error route when nothing handled it
+    private void handleException (NavigationException exception) {
+      this.navigationException = exception;
+      result.completeExceptionally(exception);
+      publishEvent(NavigationEvent.Type.FAILED, url, matchedRoute, exception.getMessage(), exception, elapsed());
+      Consumer<? super NavigationException> handler = ErrorPipeline.mostSpecific(errorHandlers, exception.getClass());
+      boolean handled = handler != null;
+      if (handled) {
+        handler.accept(exception);
+      } else {
+        handled = instance().errorPipeline.handle(exception);
+      }
+      boolean reported = reportError(url, exception);
+      if (handled || !reported) {
+        return;
+      }
+      String errorUrl = matchedRoute != null && matchedRoute.errorUrl != null
+          ? matchedRoute.errorUrl : instance().errorPipeline.errorRoute();
+      // Never redirect a failing error route to itself
+      if (errorUrl != null && !RouteTable.normalize(errorUrl).equals(RouteTable.normalize(url.split("\\?")[0]))) {
+        Navigator.navigateTo(errorUrl, exception);
       }
     }
   }
 
-  private static Parent loadViewForRoute (Route newRoute, NavRequest navRequest) throws IOException {
-    Parent view;
-    String cacheKey = newRoute.getFullUrl();
-
-    // Use cached scene if available
-    if (!newRoute.displayInDialog && isCachingEnabled() && getSceneCache().containsKey(cacheKey)) {
-      view = getSceneCache().get(cacheKey);
+  // Looks the route's view up in the scene cache, counting the hit or miss for diagnostics
+  private static LoadedView cachedView (Route route, String url) {
+    if (!isCachingEnabled()) {
+      return null;
+    }
+    String cacheKey = route.getFullUrl();
+    LoadedView cached = getSceneCache().get(cacheKey);
+    if (cached != null) {
+      instance().navigationStats.cacheHit(cacheKey);
+      publishEvent(NavigationEvent.Type.CACHE_HIT, url, route, cacheKey, null, 0);
     } else {
-      // Load the scene
-      if (newRoute.fxmlPath != null) {
-        FXMLLoader loader = new FXMLLoader(getResource(newRoute.fxmlPath));
-        view = loader.load();
-        Object controller = loader.getController();
-        injectNavRequest(controller, navRequest);
-      } else if (newRoute.viewCreator != null) {
-        view = newRoute.viewCreator.apply(navRequest);
+      instance().navigationStats.cacheMiss(cacheKey);
+    }
+    return cached;
+  }
+
+  // Caches the scene together with its controller
+  private static LoadedView cacheView (Route route, LoadedView loaded) {
+    if (isCachingEnabled()) {
+      getSceneCache().put(route.getFullUrl(), loaded);
+    }
+    return loaded;
+  }
+
+  private record PendingOutlet(String name, Route route, CompletableFuture<LoadedView> view) {
+  }
+
+  // Cached outlet views only get the request, the others are built on the executor within the navigation's scope
+  private static List<PendingOutlet> loadOutlets (Route route, NavRequest navRequest) {
+    if (route.outlets.isEmpty()) {
+      return List.of();
+    }
+    if (route.displayInDialog || (route.getLayoutPath() == null && route.getLayoutCreator() == null)) {
+      throw new NavigationException("Named outlets need a layout route: " + route.getFullUrl());
+    }
+    List<PendingOutlet> pending = new ArrayList<>(route.outlets.size());
+    route.outlets.forEach((name, url) -> {
+      NavRequest outletRequest = outletRequest(url, navRequest);
+      Route outletRoute = matchRoute(outletRequest);
+      if (outletRoute == null) {
+        throw new RouteNotFoundException("Route not found for outlet '" + name + "': " + url);
+      }
+      LoadedView cached = cachedView(outletRoute, outletRequest.url());
+      if (cached != null) {
+        cached.deliver(outletRequest);
+        pending.add(new PendingOutlet(name, outletRoute, CompletableFuture.completedFuture(cached)));
       } else {
-        throw new NavigationException("No view found for URL: " + navRequest.url());
+        pending.add(new PendingOutlet(name, outletRoute,
+                                      navRequest.scope().supply(() -> loadView(outletRoute, outletRequest))));
+      }
+    });
+    return pending;
+  }
+
+  private static Map<String, Parent> awaitOutlets (Route route, List<PendingOutlet> pending) {
+    Map<String, Parent> views = new LinkedHashMap<>();
+    for (PendingOutlet outlet : pending) {
+      LoadedView loaded;
+      try {
+        loaded = outlet.view.join();
+      } catch (CompletionException e) {
+        throw new NavigationException("Failed to load outlet '" + outlet.name + "' of " + route.getFullUrl(), e.getCause());
+      }
+      if (isCachingEnabled()) {
+        getSceneCache().putIfAbsent(outlet.route.getFullUrl(), loaded);
       }
+      views.put(outlet.name, loaded.view);
+    }
+    return views;
+  }
+
+  // Fills the named outlets and empties those the previous route of this layout filled but this one doesn't
+  private static void fillOutlets (LoadedLayout layout, Map<String, Parent> outlets) {
+    if (outlets.isEmpty() && layout.outlets.isEmpty()) {
+      return;
+    }
+    if (!(layout.controller instanceof OutletLayout outletLayout)) {
+      throw new NavigationException("Layout controller must implement OutletLayout to show named outlets");
+    }
+    for (String name : layout.outlets) {
+      if (!outlets.containsKey(name)) {
+        outletLayout.setOutlet(name, null);
+      }
+    }
+    outlets.forEach(outletLayout::setOutlet);
+    layout.outlets.clear();
+    layout.outlets.addAll(outlets.keySet());
+  }
+
+  private static LoadedView acquireRecycledView (Route route, NavRequest navRequest) throws IOException {
+    var navigator = instance();
+    if (navigator.recycledRoute == route) {
+      // Same route again, only the request changes
+      navigator.recycledView.deliver(navRequest);
+      return navigator.recycledView;
+    }
+    LoadedView idle = navigator.viewPool.poll(route);
+    if (idle == null) {
+      return loadView(route, navRequest);
+    }
+    idle.deliver(navRequest);
+    return idle;
+  }
 
-      if (!newRoute.styles().isEmpty()) {
-        view.getStylesheets().addAll(newRoute.styles());
+  private static ClassLoader awaitModule (Route route) {
+    try {
+      return instance().viewModules.load(route.module, executor()).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof NavigationException navigationException) {
+        throw navigationException;
       }
+      throw new NavigationException("Failed to load view module " + route.module.name(), e.getCause());
+    }
+  }
 
-      // Cache the scene
-      if (!newRoute.displayInDialog && isCachingEnabled()) {
-        getSceneCache().put(cacheKey, view);
+  // Shown while a view module loads
+  private static Parent loadingPlaceholder () {
+    return new StackPane(new ProgressIndicator());
+  }
+
+  // A replaced view that no cache or pool keeps should become garbage, watch it to catch leaks
+  private static void watchReplacedView (Route route, Parent previous, Parent shown) {
+    if (route == null || previous == null || previous == shown || route.recycleSize > 0) {
+      return;
+    }
+    LoadedView loaded = LoadedView.of(previous);
+    if (loaded == null || getSceneCache().get(route.getFullUrl()) != loaded) {
+      instance().memoryProfiler.watch(route.getFullUrl(), previous);
+    }
+  }
+
+  private static void releaseRecycledView (Route route, LoadedView shown) {
+    var navigator = instance();
+    if (navigator.recycledView != null && navigator.recycledView != shown) {
+      navigator.viewPool.release(navigator.recycledRoute, navigator.recycledView);
+    }
+    navigator.recycledRoute = route;
+    navigator.recycledView = shown;
+  }
+
+  private static LoadedView loadView (Route newRoute, NavRequest navRequest) throws IOException {
+    if (newRoute.module != null) {
+      // Waits for the module on first use, e.g. when a dialog or outlet route lives in a view module
+      newRoute.classLoader = awaitModule(newRoute);
+    }
+    long started = System.nanoTime();
+    Parent view;
+    Object controller;
+    if (newRoute.fxmlPath != null) {
+      FXMLLoader loader = new FXMLLoader(getResource(newRoute, newRoute.fxmlPath));
+      if (newRoute.classLoader != null) {
+        loader.setClassLoader(newRoute.classLoader);
       }
+      Localization.RecordingBundle resolved = routeBundle(newRoute);
+      loader.setResources(resolved);
+      view = loader.load();
+      // Tagged before the request is delivered, while the texts are still the ones FXML resolved
+      localize(newRoute, view, resolved);
+      controller = loader.getController();
+      injectNavRequest(controller, navRequest);
+    } else if (newRoute.viewCreator != null) {
+      view = newRoute.viewCreator.apply(navRequest);
+      localize(newRoute, view, null);
+      // Programmatic views act as their own controller when they expose setRequest
+      controller = view;
+    } else {
+      throw new NavigationException("No view found for URL: " + navRequest.url());
+    }
+
+    if (!newRoute.styles().isEmpty()) {
+      view.getStylesheets().addAll(newRoute.styles());
     }
-    return view;
+    LoadedView loaded = new LoadedView(view, controller);
+    loaded.request = navRequest;
+    // Tells placeholders which views are fast enough to build without one
+    instance().navigationStats.viewBuilt(newRoute.getFullUrl(), System.nanoTime() - started);
+    return loaded;
   }
 
   private static String getApplicationName () {
@@ -885,7 +2048,15 @@ public class Navigator {
     return instance().cachingEnabled;
   }
 
-  private static Map<String, Parent> getSceneCache () {
+  private static DialogPool getDialogPool () {
+    return instance().dialogPool;
+  }
+
+  private static TransitionEngine getTransitionEngine () {
+    return instance().transitionEngine;
+  }
+
+  private static Map<String, LoadedView> getSceneCache () {
     return instance().sceneCache;
   }
 
@@ -898,22 +2069,35 @@ public class Navigator {
     double height;
     Function<NavRequest, Parent> viewCreator;
     RouteGuard guard;
+    Duration guardTtl;
     String redirectUrl;
+    int recycleSize;
+    final Map<String, String> outlets = new LinkedHashMap<>();
+    String errorUrl;
     String fullUrl;
     boolean displayInDialog = false;
     Modality modality = Modality.NONE;
-    Route parentRoute = null;
+    Middleware[] pipeline;
+    int pipelineVersion;
+    // Routes can be changed after they are published, so what is mutable is concurrent
+    private final Set<String> tags = ConcurrentHashMap.newKeySet();
     private String layoutPath;
     private Function<NavRequest, Parent> layoutCreator;
     private Parent layoutRoot;
     private BiConsumer<Parent, Parent> setContentFunction;
-    private final Map<String, Route> childRoutes = new HashMap<>();
-    private final Map<String, Object> metadata = new HashMap<>();
-    private final List<String> styleSheets = new ArrayList<>();
-    private Consumer<NavRequest> beforeEnter;
-    private Consumer<NavRequest> afterEnter;
-    private Consumer<NavRequest> beforeExit;
-    private Consumer<NavRequest> afterExit;
+    private final Map<String, Object> metadata = new ConcurrentHashMap<>();
+    private final List<String> styleSheets = new CopyOnWriteArrayList<>();
+    // Id and class loader of the plugin that registered the route, null for application routes
+    volatile String owner;
+    volatile ClassLoader classLoader;
+    String bundleBaseName;
+    ViewModules.Coordinates module;
+    final Map<String, Class<? extends Enum<?>>> enumParams = new LinkedHashMap<>();
+    Function<NavRequest, Parent> placeholder;
+    private RouteHook beforeEnter;
+    private RouteHook afterEnter;
+    private RouteHook beforeExit;
+    private RouteHook afterExit;
 
     // Constructors
     Route (String fxmlPath, String fullUrl) {
@@ -940,6 +2124,14 @@ public class Navigator {
       this.height = height;
     }
 
+    // Key of the route's layout in the layout cache, null if it has no layout
+    String layoutKey () {
+      if (layoutPath != null) {
+        return layoutPath;
+      }
+      return layoutCreator != null ? layoutCreator.toString() : null;
+    }
+
     public Route withName (String name) {
       this.name = name;
       return this;
@@ -1000,11 +2192,28 @@ public class Navigator {
       return this;
     }
 
+    /**
+     * Tags this route, e.g. to scope middleware with {@link Navigator#middlewareForTag}.
+     * Children of a tagged layout inherit its tags.
+     */
+    public Route tag (String... tags) {
+      this.tags.addAll(Arrays.asList(tags));
+      return this;
+    }
+
+    public Set<String> tags () {
+      return Collections.unmodifiableSet(tags);
+    }
+
     /**
      * Sets a metadata for this route.
      */
     public Route meta (String key, Object value) {
-      this.metadata.put(key, value);
+      if (value == null) {
+        this.metadata.remove(key);
+      } else {
+        this.metadata.put(key, value);
+      }
       return this;
     }
 
@@ -1048,6 +2257,115 @@ public class Navigator {
       return this;
     }
 
+    /**
+     * Caches this route's guard decision per principal and path for the given time, so each value of
+     * a path parameter is decided on its own. Only use this for guards that depend on the path and the
+     * principal, not on the query or data of the request.
+     */
+    public Route cacheGuard (Duration ttl) {
+      if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+        throw new IllegalArgumentException("Guard cache TTL must be positive");
+      }
+      this.guardTtl = ttl;
+      return this;
+    }
+
+    /**
+     * Shows the view of another route in a named outlet of this route's layout, next to this route's
+     * own content. Outlet views are built in parallel off the FX thread, so their controllers must not
+     * touch the live scene while loading, and are cached like any other view. The layout controller
+     * must implement {@link OutletLayout}.
+     */
+    public Route outlet (String name, String url) {
+      if (name == null || url == null) {
+        throw new IllegalArgumentException("Outlet name and URL must not be null");
+      }
+      outlets.put(name, url);
+      return this;
+    }
+
+    public Map<String, String> outlets () {
+      return Collections.unmodifiableMap(outlets);
+    }
+
+    /**
+     * Recycles this route's view and controller, keeping up to 2 idle instances.
+     *
+     * @see #recycle(int)
+     */
+    public Route recycle () {
+      return recycle(2);
+    }
+
+    /**
+     * Recycles this route's view and controller instead of building new ones on every navigation.
+     * Navigating to the route again keeps the view on screen and only delivers the new request
+     * through {@code setRequest}; instances that are replaced get {@link BaseController#onRecycle()}
+     * and up to poolSize of them are kept idle, for dialog routes open in several windows too.
+     * Views built by a view creator must expose {@code setRequest(NavRequest)} to be recycled.
+     */
+    public Route recycle (int poolSize) {
+      if (poolSize < 1) {
+        throw new IllegalArgumentException("Recycle pool size must be at least 1");
+      }
+      this.recycleSize = poolSize;
+      return this;
+    }
+
+    /**
+     * Shows the placeholder, e.g. a skeleton of the view, inside the layout while this route's view
+     * is built in the background, if it takes longer than the placeholder delay.
+     *
+     * @see Navigator#setPlaceholder(Function)
+     */
+    public Route placeholder (Function<NavRequest, Parent> placeholder) {
+      this.placeholder = placeholder;
+      return this;
+    }
+
+    /**
+     * Loads this route's FXML, controllers and resources from a view module on the first navigation
+     * instead of from the startup module path. The module is searched in the given jars, together
+     * with the modules it requires; it must open its view packages. The route shows a progress
+     * placeholder while the module loads and keeps its class loader afterwards.
+     */
+    public Route module (String moduleName, Path... modulePath) {
+      if (modulePath.length == 0) {
+        throw new IllegalArgumentException("View module " + moduleName + " needs at least one jar");
+      }
+      this.module = new ViewModules.Coordinates(Objects.requireNonNull(moduleName, "Module name can't be null"), List.of(modulePath));
+      return this;
+    }
+
+    /**
+     * Declares the path parameter {@code :name} of this route's URL as a constant of the enum, matched
+     * ignoring case. URLs that name no constant don't match the route; controllers read the constant
+     * with {@link NavRequest#pathEnum(String, Class)}.
+     */
+    public <E extends Enum<E>> Route param (String name, Class<E> type) {
+      enumParams.put(Objects.requireNonNull(name, "Parameter name can't be null"),
+                     Objects.requireNonNull(type, "Enum type can't be null"));
+      return this;
+    }
+
+    /**
+     * Translates this route's views, and its layout when it loads it first, with its own resource
+     * bundle instead of the one set by {@link Navigator#setResourceBundle(String)}.
+     */
+    public Route bundle (String baseName) {
+      this.bundleBaseName = baseName;
+      return this;
+    }
+
+    /**
+     * Sets the route shown when navigating to this route fails and no error handler handles it.
+     * The exception is passed as the navigation data.
+     */
+    public Route onError (String url) {
+      this.errorUrl = url;
+      return this;
+    }
+
     /**
      * Sets a redirect URL to be used when the guard blocks navigation.
      */
@@ -1089,22 +2407,42 @@ public class Navigator {
     }
 
     public Route beforeEnter (Consumer<NavRequest> beforeEnter) {
-      this.beforeEnter = beforeEnter;
+      return beforeEnter(beforeEnter, HookThread.FX);
+    }
+
+    /**
+     * Sets the beforeEnter hook. A background hook does not delay the navigation and is
+     * cancelled if the user navigates away before it completes.
+     */
+    public Route beforeEnter (Consumer<NavRequest> beforeEnter, HookThread thread) {
+      this.beforeEnter = RouteHook.of(beforeEnter, thread);
       return this;
     }
 
     public Route afterEnter (Consumer<NavRequest> afterEnter) {
-      this.afterEnter = afterEnter;
+      return afterEnter(afterEnter, HookThread.FX);
+    }
+
+    public Route afterEnter (Consumer<NavRequest> afterEnter, HookThread thread) {
+      this.afterEnter = RouteHook.of(afterEnter, thread);
       return this;
     }
 
     public Route beforeExit (Consumer<NavRequest> beforeExit) {
-      this.beforeExit = beforeExit;
+      return beforeExit(beforeExit, HookThread.FX);
+    }
+
+    public Route beforeExit (Consumer<NavRequest> beforeExit, HookThread thread) {
+      this.beforeExit = RouteHook.of(beforeExit, thread);
       return this;
     }
 
     public Route afterExit (Consumer<NavRequest> afterExit) {
-      this.afterExit = afterExit;
+      return afterExit(afterExit, HookThread.FX);
+    }
+
+    public Route afterExit (Consumer<NavRequest> afterExit, HookThread thread) {
+      this.afterExit = RouteHook.of(afterExit, thread);
       return this;
     }
   }
@@ -1149,6 +2487,8 @@ public class Navigator {
   public static class LoadedLayout {
     Parent root;
     NavLayout controller;
+    // Names of the outlets filled by the last route shown in this layout
+    final Set<String> outlets = new HashSet<>();
 
     public LoadedLayout (Parent root, NavLayout controller) {
       this.root = root;
@@ -1157,6 +2497,37 @@ public class Navigator {
   }
 
 
+  static class LoadedView {
+    final Parent view;
+    final Object controller;
+    // Last request delivered to the controller, null once it has been recycled
+    NavRequest request;
+
+    LoadedView (Parent view, Object controller) {
+      this.view = view;
+      this.controller = controller;
+      // Lets outlets and tools find the controller of a view in the scene graph
+      view.getProperties().put(LoadedView.class, this);
+    }
+
+    static LoadedView of (Node view) {
+      return view.getProperties().get(LoadedView.class) instanceof LoadedView loaded ? loaded : null;
+    }
+
+    /**
+     * Injects the request unless the controller already got one with the same URL, parameters and data.
+     * In that case the request it holds is re-bound to the new navigation's scope instead.
+     */
+    void deliver (NavRequest navRequest) {
+      if (!navRequest.sameAs(request)) {
+        injectNavRequest(controller, navRequest);
+        request = navRequest;
+      } else if (request != navRequest) {
+        request.adopt(navRequest);
+      }
+    }
+  }
+
   // NavigationState Class
   private static class NavigationState {
     String url;
@@ -1173,7 +2544,31 @@ public class Navigator {
     NONE,
     FADE,
     SLIDE_LEFT,
-    SLIDE_RIGHT
+    SLIDE_RIGHT,
+    /** Fades a snapshot of the previous view out over the new one. */
+    CROSS_FADE
+  }
+
+  // HookThread Enum
+  public enum HookThread {
+    /** Runs on the JavaFX Application Thread as part of the navigation. */
+    FX,
+    /** Runs on the Navigator executor, off the JavaFX Application Thread. */
+    BACKGROUND
+  }
+
+  private static class RouteHook {
+    final Consumer<NavRequest> action;
+    final HookThread thread;
+
+    private RouteHook (Consumer<NavRequest> action, HookThread thread) {
+      this.action = action;
+      this.thread = Objects.requireNonNull(thread, "Hook thread can't be null");
+    }
+
+    static RouteHook of (Consumer<NavRequest> action, HookThread thread) {
+      return action == null ? null : new RouteHook(action, thread);
+    }
   }
 
   // Middleware Interfaces
@@ -1202,6 +2597,28 @@ public class Navigator {
     }
   }
 
+  private static class ScopedMiddleware {
+    final Middleware middleware;
+    final String prefix;
+    final String tag;
+    // Id of the plugin that registered the middleware, null for application middleware
+    final String owner;
+
+    ScopedMiddleware (Middleware middleware, String prefix, String tag, String owner) {
+      this.middleware = Objects.requireNonNull(middleware, "Middleware can't be null");
+      this.prefix = prefix;
+      this.tag = tag;
+      this.owner = owner;
+    }
+
+    boolean appliesTo (Route route, String path) {
+      if (tag != null && (route == null || !route.tags.contains(tag))) {
+        return false;
+      }
+      return prefix == null || prefix.equals("/") || path.equals(prefix) || path.startsWith(prefix + "/");
+    }
+  }
+
   public interface ContentConsumer extends BiConsumer<Parent,Parent>{
     void accept(Parent layout,Parent content);
   }
@@ -1226,8 +2643,11 @@ public class Navigator {
       this.consumer = Optional.ofNullable(consumer);
     }
 
+    private static final RouteGuardResponse ALLOW = new RouteGuardResponse(true, null, null, null, null);
+    private static final RouteGuardResponse BLOCK = new RouteGuardResponse(false, null, null, null, null);
+
     public static RouteGuardResponse allow () {
-      return new RouteGuardResponse(true, null, null, null, null);
+      return ALLOW;
     }
 
     public static RouteGuardResponse block (String message, Runnable action) {
@@ -1239,7 +2659,7 @@ public class Navigator {
     }
 
     public static RouteGuardResponse block () {
-      return new RouteGuardResponse(false, null, null, null, null);
+      return BLOCK;
     }
 
     public static RouteGuardResponse block (String message, Consumer<String> action) {
@@ -1280,7 +2700,7 @@ public class Navigator {
   }
 
 
-  // MiddlewareResponse Class
+  // MiddlewareResponse Class, immutable so short-circuit responses can be kept in constants and reused
   public static class MiddlewareResponse {
     private final boolean proceed;
     private final Optional<String> redirectUrl;
@@ -1296,8 +2716,10 @@ public class Navigator {
       this.consumer = Optional.ofNullable(consumer);
     }
 
+    private static final MiddlewareResponse PROCEED = new MiddlewareResponse(true, null, null, null, null);
+
     public static MiddlewareResponse proceed () {
-      return new MiddlewareResponse(true, null, null, null, null);
+      return PROCEED;
     }
 
     public static MiddlewareResponse block (String message, Runnable action) {
@@ -1369,6 +2791,21 @@ public class Navigator {
     }
   }
 
+  public static class RouteValidationException extends NavigationException {
+    private static final long serialVersionUID = 1L;
+    // The message lists the problems too, so a deserialized exception only loses the list
+    private final transient List<String> problems;
+
+    public RouteValidationException (List<String> problems) {
+      super("Invalid route table:\n  " + String.join("\n  ", problems));
+      this.problems = List.copyOf(problems);
+    }
+
+    public List<String> problems () {
+      return problems != null ? problems : List.of();
+    }
+  }
+
   public static class ResourceNotFoundException extends NavigationException {
     public ResourceNotFoundException (String message) {
       super(message);
@@ -0,0 +1,16 @@
+package com.eden.navigatorfx.v2;
+
+import com.eden.navigatorfx.v2.layout.NavLayout;
+import javafx.scene.Parent;
+
+/**
+ * Layout with named outlets besides its main content, filled from {@link Navigator.Route#outlet(String, String)}.
+ * All outlets of a navigation are set in the same pulse as the main content.
+ */
+public interface OutletLayout extends NavLayout {
+
+    /**
+     * Shows the view in the named outlet, or empties the outlet when content is null.
+     */
+    void setOutlet(String name, Parent content);
+}
@@ -1,9 +1,31 @@
 package com.eden.navigatorfx.v2;
 
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 public interface Plugin {
         String id();
         String name();
         void registerRoutes(Navigator navigator);
         void initialize();
         default void shutdown(){}
+
+        /**
+         * Ids of the plugins that must be initialized before this one.
+         * Plugins without dependencies on each other are initialized in parallel.
+         */
+        default Set<String> dependencies(){
+                return Set.of();
+        }
+
+        /**
+         * Asynchronous variant of {@link #initialize()}, invoked on a Navigator plugin thread.
+         * Override to return a stage that completes when background work (opening databases,
+         * building indexes...) is done, without holding the plugin thread.
+         */
+        default CompletionStage<Void> initializeAsync(){
+                initialize();
+                return CompletableFuture.completedFuture(null);
+        }
 }
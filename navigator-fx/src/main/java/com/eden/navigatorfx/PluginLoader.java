@@ -0,0 +1,106 @@
+package com.eden.navigatorfx.v2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.module.Configuration;
+import java.lang.module.ModuleDescriptor;
+import java.lang.module.ModuleFinder;
+import java.lang.module.ModuleReference;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads {@link Plugin} providers from jars into a class loader of their own, so that unloading the
+ * plugins lets their classes and resources be reclaimed. When the Navigator runs as a named module,
+ * the jars are resolved into a new {@link ModuleLayer} on top of the Navigator's layer; on the class
+ * path they get a child {@link URLClassLoader}, closed when the last of their plugins is unloaded.
+ */
+final class PluginLoader {
+
+    /**
+     * Plugins found in a set of jars, and what to close once none of them is registered anymore.
+     */
+    record Loaded(List<Plugin> plugins, Closeable source) {
+    }
+
+    private PluginLoader() {
+    }
+
+    static Loaded load(Path... jars) {
+        if (jars.length == 0) {
+            throw new IllegalArgumentException("No plugin jars given");
+        }
+        Module navigatorModule = Plugin.class.getModule();
+        return navigatorModule.isNamed() ? loadLayer(navigatorModule, jars) : loadClassPath(jars);
+    }
+
+    private static Loaded loadLayer(Module navigatorModule, Path... jars) {
+        ModuleFinder finder = ModuleFinder.of(jars);
+        Set<String> roots = finder.findAll().stream()
+                .map(ModuleReference::descriptor)
+                .map(ModuleDescriptor::name)
+                .collect(Collectors.toSet());
+        ModuleLayer layer = defineLayer(navigatorModule, finder, roots, true);
+        // Only the providers of the new layer, not those already visible from the parent layers
+        List<Plugin> plugins = ServiceLoader.load(layer, Plugin.class).stream()
+                .filter(provider -> provider.type().getModule().getLayer() == layer)
+                .map(ServiceLoader.Provider::get)
+                .toList();
+        // A layer has nothing to close, it is reclaimed once its plugins are unreachable
+        return new Loaded(plugins, () -> {
+        });
+    }
+
+    /**
+     * Resolves the root modules found by the finder into a new layer on top of the Navigator's,
+     * with one class loader for all of them. Binding also resolves the service providers they use.
+     */
+    static ModuleLayer defineLayer(Module navigatorModule, ModuleFinder finder, Set<String> roots, boolean bindServices) {
+        ModuleLayer parent = navigatorModule.getLayer() != null ? navigatorModule.getLayer() : ModuleLayer.boot();
+        Configuration configuration = bindServices
+                ? parent.configuration().resolveAndBind(finder, ModuleFinder.of(), roots)
+                : parent.configuration().resolve(finder, ModuleFinder.of(), roots);
+        return parent.defineModulesWithOneLoader(configuration, Plugin.class.getClassLoader());
+    }
+
+    /**
+     * A class loader for jars on the class path, child of the Navigator's class loader.
+     */
+    static URLClassLoader classLoader(String name, Path... jars) {
+        URL[] urls = new URL[jars.length];
+        for (int i = 0; i < jars.length; i++) {
+            try {
+                urls[i] = jars[i].toUri().toURL();
+            } catch (MalformedURLException e) {
+                throw new Navigator.NavigationException("Invalid jar: " + jars[i], e);
+            }
+        }
+        return new URLClassLoader(name, urls, Plugin.class.getClassLoader());
+    }
+
+    private static Loaded loadClassPath(Path... jars) {
+        URLClassLoader loader = classLoader("navigator-plugins", jars);
+        List<Plugin> plugins = ServiceLoader.load(Plugin.class, loader).stream()
+                .filter(provider -> provider.type().getClassLoader() == loader)
+                .map(ServiceLoader.Provider::get)
+                .toList();
+        if (plugins.isEmpty()) {
+            close(loader);
+        }
+        return new Loaded(plugins, loader);
+    }
+
+    static void close(Closeable source) {
+        try {
+            source.close();
+        } catch (IOException e) {
+            Navigator.reportError(null, e);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.eden.navigatorfx.v2;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of registered plugins, initializes them in dependency order on a bounded
+ * executor and shuts them down in reverse dependency order. Everything a plugin registers from
+ * {@link Plugin#registerRoutes(Navigator)} is owned by it and removed when it is unregistered.
+ */
+class PluginRegistry {
+
+    // Registered plugins, always in dependency order (dependencies before dependents)
+    private final List<Plugin> plugins = new ArrayList<>();
+    private final Map<String, Duration> initTimes = new ConcurrentHashMap<>();
+    // Class loaders or layers of plugins loaded from jars, closed once none of their plugins is left
+    private final Map<Plugin, Closeable> sources = new IdentityHashMap<>();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    // Completes when the last requested registration is over, whether it succeeded or not
+    private CompletableFuture<Void> registrations = CompletableFuture.completedFuture(null);
+
+    synchronized void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Plugin parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    synchronized List<Plugin> plugins() {
+        return List.copyOf(plugins);
+    }
+
+    Map<String, Duration> initTimes() {
+        return Collections.unmodifiableMap(initTimes);
+    }
+
+    /**
+     * Initializes the given plugins, running independent ones in parallel, then registers their
+     * routes on the calling thread in dependency order. Either all plugins are registered or none.
+     * Blocks until the plugins are initialized, after the registrations requested before this one.
+     */
+    void register(Navigator navigator, Closeable source, Plugin... newPlugins) {
+        CompletableFuture<Void> registered = new CompletableFuture<>();
+        CompletableFuture<List<Plugin>> initialized = enqueue(registered, newPlugins);
+        try {
+            registerRoutes(navigator, source, initialized.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            registered.complete(null);
+        }
+    }
+
+    /**
+     * Like {@link #register}, without blocking: plugins are initialized on plugin threads and their
+     * routes registered on the registrar. The future fails with what {@link #register} would throw.
+     */
+    CompletableFuture<Void> registerAsync(Navigator navigator, Closeable source, Executor registrar, Plugin... newPlugins) {
+        CompletableFuture<Void> registered = new CompletableFuture<>();
+        CompletableFuture<Void> done = enqueue(registered, newPlugins)
+                .thenAcceptAsync(ordered -> registerRoutes(navigator, source, ordered), registrar);
+        done.whenComplete((ignored, failure) -> registered.complete(null));
+        return done;
+    }
+
+    // Registrations run one after another, so each one orders its plugins against all registered before it
+    private synchronized CompletableFuture<List<Plugin>> enqueue(CompletableFuture<Void> registered, Plugin[] newPlugins) {
+        CompletableFuture<Void> previous = registrations;
+        registrations = registered;
+        return previous.thenCompose(ignored -> initialize(newPlugins));
+    }
+
+    private CompletableFuture<List<Plugin>> initialize(Plugin[] newPlugins) {
+        List<Plugin> ordered;
+        Map<String, CompletableFuture<Void>> started = new HashMap<>();
+        synchronized (this) {
+            ordered = dependencyOrder(Arrays.asList(newPlugins));
+            for (Plugin plugin : plugins) {
+                started.put(plugin.id(), CompletableFuture.completedFuture(null));
+            }
+        }
+
+        ExecutorService executor = newExecutor("navigator-plugin-init", Math.min(parallelism, ordered.size()));
+        for (Plugin plugin : ordered) {
+            started.put(plugin.id(), afterAll(plugin.dependencies(), started)
+                    .thenComposeAsync(ignored -> timedInitialize(plugin), executor));
+        }
+        CompletableFuture<?>[] settled = ordered.stream()
+                .map(plugin -> started.get(plugin.id()).exceptionally(failure -> null))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(settled).thenApply(ignored -> {
+            executor.shutdown();
+            List<Throwable> failures = await(ordered, started);
+            if (!failures.isEmpty()) {
+                // Roll back the plugins that did come up so a failed register leaves no trace
+                List<Plugin> initialized = ordered.stream()
+                        .filter(plugin -> !started.get(plugin.id()).isCompletedExceptionally())
+                        .toList();
+                failures.addAll(shutdown(initialized));
+                ordered.forEach(plugin -> initTimes.remove(plugin.id()));
+                Navigator.NavigationException failure = new Navigator.NavigationException("Failed to initialize plugins: " + ids(ordered));
+                failures.forEach(failure::addSuppressed);
+                throw failure;
+            }
+            return ordered;
+        });
+    }
+
+    private synchronized void registerRoutes(Navigator navigator, Closeable source, List<Plugin> ordered) {
+        List<Plugin> registered = new ArrayList<>();
+        try {
+            for (Plugin plugin : ordered) {
+                registered.add(plugin);
+                Navigator.registerAs(plugin.id(), source != null ? plugin.getClass().getClassLoader() : null,
+                        () -> plugin.registerRoutes(navigator));
+            }
+        } catch (RuntimeException e) {
+            // Take back what the plugins of this call registered so far, then stop them all
+            registered.forEach(plugin -> Navigator.removePluginContributions(plugin.id()));
+            shutdown(ordered).forEach(e::addSuppressed);
+            ordered.forEach(plugin -> initTimes.remove(plugin.id()));
+            throw e;
+        }
+        plugins.addAll(ordered);
+        if (source != null) {
+            ordered.forEach(plugin -> sources.put(plugin, source));
+        }
+    }
+
+    synchronized void unregister(Plugin plugin) {
+        List<String> dependents = plugins.stream()
+                .filter(other -> other.dependencies().contains(plugin.id()))
+                .map(Plugin::id)
+                .toList();
+        if (!dependents.isEmpty()) {
+            throw new Navigator.NavigationException(
+                    "Cannot unregister plugin " + plugin.id() + ", still required by: " + dependents);
+        }
+        if (!plugins.remove(plugin)) {
+            return;
+        }
+        // Routes and middleware go first so no navigation reaches the plugin while it shuts down
+        Navigator.removePluginContributions(plugin.id());
+        initTimes.remove(plugin.id());
+        try {
+            plugin.shutdown();
+        } finally {
+            Closeable source = sources.remove(plugin);
+            if (source != null && !sources.containsValue(source)) {
+                PluginLoader.close(source);
+            }
+        }
+    }
+
+    /**
+     * Shuts every plugin down. A plugin is shut down once all plugins depending on it are,
+     * unrelated plugins shut down concurrently.
+     */
+    synchronized void shutdownAll() {
+        // As in unregister, no navigation reaches a plugin that is shutting down
+        plugins.forEach(plugin -> Navigator.removePluginContributions(plugin.id()));
+        List<Throwable> failures = shutdown(plugins);
+        plugins.clear();
+        initTimes.clear();
+        Set<Closeable> closing = Collections.newSetFromMap(new IdentityHashMap<>());
+        closing.addAll(sources.values());
+        sources.clear();
+        closing.forEach(PluginLoader::close);
+        if (!failures.isEmpty()) {
+            Navigator.NavigationException failure = new Navigator.NavigationException("Failed to shutdown plugins");
+            failures.forEach(failure::addSuppressed);
+            throw failure;
+        }
+    }
+
+    private List<Throwable> shutdown(List<Plugin> ordered) {
+        if (ordered.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, CompletableFuture<Void>> stopped = new HashMap<>();
+        ExecutorService executor = newExecutor("navigator-plugin-shutdown", Math.min(parallelism, ordered.size()));
+        try {
+            // Walking backwards visits every dependent before the plugins it depends on
+            for (int i = ordered.size() - 1; i >= 0; i--) {
+                Plugin plugin = ordered.get(i);
+                CompletableFuture<?>[] dependents = ordered.stream()
+                        .filter(other -> other.dependencies().contains(plugin.id()))
+                        .map(other -> stopped.get(other.id()).exceptionally(failure -> null))
+                        .toArray(CompletableFuture[]::new);
+                stopped.put(plugin.id(), CompletableFuture.allOf(dependents)
+                        .thenRunAsync(plugin::shutdown, executor));
+            }
+            return await(ordered, stopped);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private CompletableFuture<Void> timedInitialize(Plugin plugin) {
+        long start = System.nanoTime();
+        CompletableFuture<Void> init;
+        try {
+            init = plugin.initializeAsync().toCompletableFuture();
+        } catch (RuntimeException e) {
+            init = CompletableFuture.failedFuture(e);
+        }
+        return init.whenComplete((ignored, failure) ->
+                initTimes.put(plugin.id(), Duration.ofNanos(System.nanoTime() - start)));
+    }
+
+    private static CompletableFuture<Void> afterAll(Set<String> ids, Map<String, CompletableFuture<Void>> futures) {
+        return CompletableFuture.allOf(ids.stream().map(futures::get).toArray(CompletableFuture[]::new));
+    }
+
+    private static List<Throwable> await(List<Plugin> plugins, Map<String, CompletableFuture<Void>> futures) {
+        List<Throwable> failures = new ArrayList<>();
+        for (Plugin plugin : plugins) {
+            try {
+                futures.get(plugin.id()).join();
+            } catch (CompletionException e) {
+                failures.add(new Navigator.NavigationException("Plugin " + plugin.id() + " failed", e.getCause()));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Orders the new plugins so that every plugin comes after its dependencies, validating ids,
+     * missing dependencies and cycles against the already registered plugins.
+     */
+    private List<Plugin> dependencyOrder(List<Plugin> newPlugins) {
+        Set<String> registered = new HashSet<>();
+        plugins.forEach(plugin -> registered.add(plugin.id()));
+        Map<String, Plugin> pending = new LinkedHashMap<>();
+        for (Plugin plugin : newPlugins) {
+            if (registered.contains(plugin.id()) || pending.putIfAbsent(plugin.id(), plugin) != null) {
+                throw new Navigator.NavigationException("Plugin already registered: " + plugin.id());
+            }
+        }
+        for (Plugin plugin : newPlugins) {
+            for (String dependency : plugin.dependencies()) {
+                if (!registered.contains(dependency) && !pending.containsKey(dependency)) {
+                    throw new Navigator.NavigationException(
+                            "Plugin " + plugin.id() + " depends on unknown plugin: " + dependency);
+                }
+            }
+        }
+
+        List<Plugin> ordered = new ArrayList<>();
+        Set<String> visiting = new HashSet<>();
+        for (Plugin plugin : newPlugins) {
+            visit(plugin, pending, registered, visiting, ordered);
+        }
+        return ordered;
+    }
+
+    private static void visit(Plugin plugin, Map<String, Plugin> pending, Set<String> done,
+                              Set<String> visiting, List<Plugin> ordered) {
+        if (done.contains(plugin.id())) {
+            return;
+        }
+        if (!visiting.add(plugin.id())) {
+            throw new Navigator.NavigationException("Plugin dependency cycle detected at: " + plugin.id());
+        }
+        for (String dependency : plugin.dependencies()) {
+            Plugin required = pending.get(dependency);
+            if (required != null) {
+                visit(required, pending, done, visiting, ordered);
+            }
+        }
+        visiting.remove(plugin.id());
+        done.add(plugin.id());
+        ordered.add(plugin);
+    }
+
+    private static String ids(List<Plugin> plugins) {
+        return plugins.stream().map(Plugin::id).toList().toString();
+    }
+
+    private static ExecutorService newExecutor(String name, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Math.max(1, threads), factory);
+    }
+}
@@ -0,0 +1,58 @@
+package com.eden.navigatorfx.v2;
+
+import javafx.scene.Scene;
+
+/**
+ * Times the CSS and layout part of each pulse of a scene, between its pre- and post-layout pulse
+ * listeners. Only attached while the diagnostics window is open.
+ */
+class PulseMonitor {
+    private final Runnable beforeLayout = this::beforeLayout;
+    private final Runnable afterLayout = this::afterLayout;
+    private Scene scene;
+    private long layoutStart;
+    private long lastNanos;
+    private long maxNanos;
+    private int pulses;
+
+    void attach(Scene scene) {
+        detach();
+        if (scene == null) {
+            return;
+        }
+        this.scene = scene;
+        scene.addPreLayoutPulseListener(beforeLayout);
+        scene.addPostLayoutPulseListener(afterLayout);
+    }
+
+    void detach() {
+        if (scene != null) {
+            scene.removePreLayoutPulseListener(beforeLayout);
+            scene.removePostLayoutPulseListener(afterLayout);
+            scene = null;
+        }
+        lastNanos = 0;
+        maxNanos = 0;
+        pulses = 0;
+    }
+
+    private void beforeLayout() {
+        layoutStart = System.nanoTime();
+    }
+
+    private void afterLayout() {
+        lastNanos = System.nanoTime() - layoutStart;
+        maxNanos = Math.max(maxNanos, lastNanos);
+        pulses++;
+    }
+
+    /**
+     * Describes the pulses since the previous call, then starts a new interval.
+     */
+    void describe(StringBuilder out) {
+        out.append(String.format("Pulse: %d since last refresh, layout last %.2f ms, max %.2f ms%n",
+                pulses, lastNanos / 1e6, maxNanos / 1e6));
+        maxNanos = 0;
+        pulses = 0;
+    }
+}
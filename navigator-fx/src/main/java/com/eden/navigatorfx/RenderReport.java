@@ -0,0 +1,64 @@
+package com.eden.navigatorfx.v2;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Outcome of {@link Navigator#renderToImages(List, Path, double, double, int)}: one entry per URL in
+ * the order given, and where the time went.
+ *
+ * @param entries       the outcome of each URL
+ * @param elapsedNanos  wall-clock time of the whole run
+ * @param buildNanos    time spent building views, summed over the parallel builds
+ * @param snapshotNanos time the FX thread spent taking snapshots
+ * @param encodeNanos   time spent encoding and writing images, summed over the parallel writes
+ */
+public record RenderReport(List<Entry> entries, long elapsedNanos, long buildNanos, long snapshotNanos, long encodeNanos) {
+
+    public enum Status {
+        /** The image was written. */
+        RENDERED,
+        /** Middleware or the route guard did not let the URL through. */
+        BLOCKED,
+        /** No route matches the URL. */
+        NOT_FOUND,
+        /** Building, snapshotting or writing failed; the detail holds the cause. */
+        FAILED
+    }
+
+    /**
+     * @param image  the written image, null unless rendered
+     * @param detail why the URL was not rendered, null if it was
+     */
+    public record Entry(String url, Status status, Path image, String detail) {
+    }
+
+    public RenderReport {
+        entries = List.copyOf(entries);
+    }
+
+    public long rendered() {
+        return entries.stream().filter(entry -> entry.status == Status.RENDERED).count();
+    }
+
+    /**
+     * Images written per second of wall-clock time.
+     */
+    public double imagesPerSecond() {
+        return elapsedNanos == 0 ? 0 : rendered() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(String.format(
+                "Rendered %d of %d URLs in %.1f s (%.1f images/s; build %.0f ms, snapshot %.0f ms, encode %.0f ms)%n",
+                rendered(), entries.size(), elapsedNanos / 1e9, imagesPerSecond(),
+                buildNanos / 1e6, snapshotNanos / 1e6, encodeNanos / 1e6));
+        for (Entry entry : entries) {
+            if (entry.status != Status.RENDERED) {
+                out.append(String.format("  %-9s %s: %s%n", entry.status, entry.url, entry.detail));
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.eden.navigatorfx.v2;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link NavigationReplay#run()}: latencies per route and how the heap grew.
+ *
+ * @param routes       statistics per route pattern, sorted by route
+ * @param elapsedNanos wall-clock time of the replay
+ * @param settledHeap  used heap in bytes after a garbage collection, before the first pass and after each pass
+ */
+public record ReplayReport(List<RouteStats> routes, long elapsedNanos, List<Long> settledHeap) {
+
+    /**
+     * @param navigations    navigations replayed to the route, including blocked and failed ones
+     * @param heapDeltaBytes heap growth summed over the route's navigations, measured around each one
+     *                       without collecting garbage. Rough, but a route that keeps adding to it across
+     *                       passes is worth a {@link Navigator#memoryReport()}
+     */
+    public record RouteStats(String route, int navigations, int blocked, int failed,
+                             long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos, long heapDeltaBytes) {
+    }
+
+    public ReplayReport {
+        routes = List.copyOf(routes);
+        settledHeap = List.copyOf(settledHeap);
+    }
+
+    public int navigations() {
+        return routes.stream().mapToInt(RouteStats::navigations).sum();
+    }
+
+    /**
+     * Growth of the settled heap from before the replay to after the last pass. A steady climb across
+     * passes, rather than a one-off step for filled caches, points at a leak.
+     */
+    public long heapGrowthBytes() {
+        return settledHeap.get(settledHeap.size() - 1) - settledHeap.get(0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(String.format(
+                "Replayed %d navigations in %.1f s, heap grew %+.1f MB (%d passes)%n",
+                navigations(), elapsedNanos / 1e9, heapGrowthBytes() / 1e6, settledHeap.size() - 1));
+        out.append(String.format("%-32s %6s %6s %6s %8s %8s %8s %8s %10s%n",
+                "ROUTE", "COUNT", "BLOCK", "FAIL", "P50 ms", "P90 ms", "P99 ms", "MAX ms", "HEAP KB"));
+        for (RouteStats route : routes) {
+            out.append(String.format("%-32s %6d %6d %6d %8.1f %8.1f %8.1f %8.1f %+10d%n",
+                    route.route, route.navigations, route.blocked, route.failed,
+                    route.p50Nanos / 1e6, route.p90Nanos / 1e6, route.p99Nanos / 1e6, route.maxNanos / 1e6,
+                    route.heapDeltaBytes / 1024));
+        }
+        out.append("Settled heap per pass (MB):");
+        settledHeap.forEach(bytes -> out.append(String.format(" %.1f", bytes / 1e6)));
+        return out.append(System.lineSeparator()).toString();
+    }
+}
@@ -0,0 +1,84 @@
+package com.eden.navigatorfx.v2;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Resolved resource URLs keyed by class loader and path, including paths that were not found, so
+ * repeated navigations don't probe the class path again. Filled lazily and by {@link Navigator#compile()}.
+ */
+class ResourceCache {
+    // Class path misses are as stable as hits, but bound the cache against unbounded ad-hoc paths
+    private static final int MAX_ENTRIES = 4096;
+
+    // The context class loader takes part in lookups through the resource loader, so it scopes them too
+    private record Key(ClassLoader classLoader, ClassLoader contextClassLoader, String path) {
+    }
+
+    private final Map<Key, Optional<URL>> resolved = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder probeNanos = new LongAdder();
+    private volatile boolean enabled = true;
+
+    /**
+     * Returns the cached URL of the path, or probes for it once. The class loaders scope the entry:
+     * the route's class loader, or null for lookups through the application's resource loader, and
+     * the context class loader the probe consults, null if it doesn't.
+     */
+    URL resolve(ClassLoader classLoader, ClassLoader contextClassLoader, String path, Supplier<URL> probe) {
+        if (!enabled) {
+            return timed(probe);
+        }
+        Key key = new Key(classLoader, contextClassLoader, path);
+        Optional<URL> cached = resolved.get(key);
+        if (cached != null) {
+            (cached.isPresent() ? hits : negativeHits).increment();
+            return cached.orElse(null);
+        }
+        URL resource = timed(probe);
+        if (resolved.size() < MAX_ENTRIES) {
+            resolved.put(key, Optional.ofNullable(resource));
+        }
+        return resource;
+    }
+
+    private URL timed(Supplier<URL> probe) {
+        long start = System.nanoTime();
+        try {
+            return probe.get();
+        } finally {
+            probes.increment();
+            probeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            resolved.clear();
+        }
+    }
+
+    /**
+     * Drops the entries of a class loader, e.g. of an unloaded plugin, so the cache doesn't keep it alive.
+     */
+    void evict(ClassLoader classLoader) {
+        resolved.keySet().removeIf(key -> key.classLoader == classLoader || key.contextClassLoader == classLoader);
+    }
+
+    void clear() {
+        resolved.clear();
+    }
+
+    ResourceStats stats() {
+        int missing = (int) resolved.values().stream().filter(Optional::isEmpty).count();
+        return new ResourceStats(hits.sum(), negativeHits.sum(), probes.sum(), probeNanos.sum(),
+                                 resolved.size() - missing, missing);
+    }
+}
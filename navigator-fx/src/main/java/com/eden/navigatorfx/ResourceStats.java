@@ -0,0 +1,35 @@
+package com.eden.navigatorfx.v2;
+
+/**
+ * Counters of the Navigator's resource resolution cache, see {@link Navigator#resourceStats()}.
+ *
+ * @param hits         lookups answered with a cached URL
+ * @param negativeHits lookups answered from a cached miss, without probing the class path
+ * @param probes       lookups that had to probe the resource loader and class loaders
+ * @param probeNanos   total time spent probing
+ * @param resolved     paths cached with their URL
+ * @param missing      paths cached as not found
+ */
+public record ResourceStats(long hits, long negativeHits, long probes, long probeNanos, int resolved, int missing) {
+
+    /**
+     * Share of lookups served from the cache, between 0 and 1.
+     */
+    public double hitRate() {
+        long lookups = hits + negativeHits + probes;
+        return lookups == 0 ? 0 : (double) (hits + negativeHits) / lookups;
+    }
+
+    /**
+     * Average cost of a probe in microseconds, or 0 if nothing was probed yet.
+     */
+    public double averageProbeMicros() {
+        return probes == 0 ? 0 : probeNanos / 1e3 / probes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Resources: %d cached, %d missing, %d hits, %d negative hits, %d probes (%.0f us avg), %.0f%% hit rate",
+                resolved, missing, hits, negativeHits, probes, averageProbeMicros(), 100 * hitRate());
+    }
+}
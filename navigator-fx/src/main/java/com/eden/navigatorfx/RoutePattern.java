@@ -0,0 +1,368 @@
+package com.eden.navigatorfx.v2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A route URL with path parameters, e.g. {@code /orders/:id<long>/lines/:line<int>}. Values are
+ * converted once, while matching, and read straight from the URL without copying their segment, so
+ * a URL whose values don't convert doesn't match the route and controllers get primitives without
+ * parsing or boxing.
+ * <p>
+ * Parameter types are {@code string} (the default), {@code int}, {@code long}, {@code double},
+ * {@code boolean} and {@code uuid}. Enum parameters are declared with
+ * {@link Navigator.Route#param(String, Class)}.
+ */
+final class RoutePattern {
+
+    enum Type {
+        STRING, INT, LONG, DOUBLE, BOOLEAN, UUID, ENUM;
+
+        static Type of(String name) {
+            for (Type type : values()) {
+                if (type != ENUM && type.name().equalsIgnoreCase(name)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Literal segments first, then typed parameters, then string parameters, compared segment by
+     * segment: {@code /orders/new} wins over {@code /orders/:id<long>}, which wins over {@code /orders/:slug}.
+     */
+    static final Comparator<RoutePattern> MOST_SPECIFIC_FIRST = (a, b) -> {
+        for (int i = 0; i < Math.min(a.literals.length, b.literals.length); i++) {
+            int order = Integer.compare(a.rank(i), b.rank(i));
+            if (order != 0) {
+                return order;
+            }
+        }
+        return Integer.compare(a.literals.length, b.literals.length);
+    };
+
+    final Navigator.Route route;
+    // Per segment: the literal text, or null for a parameter
+    private final String[] literals;
+    // Per segment: the index of its parameter, or -1 for a literal
+    private final int[] parameterAt;
+    private final String[] names;
+    private final Type[] types;
+    private final Enum<?>[][] constants;
+    private final String signature;
+
+    private RoutePattern(Navigator.Route route, String[] literals, int[] parameterAt, String[] names,
+                         Type[] types, Enum<?>[][] constants, String signature) {
+        this.route = route;
+        this.literals = literals;
+        this.parameterAt = parameterAt;
+        this.names = names;
+        this.types = types;
+        this.constants = constants;
+        this.signature = signature;
+    }
+
+    static boolean isPattern(String url) {
+        return url.startsWith(":") || url.contains("/:");
+    }
+
+    /**
+     * Parses the full URL of a route, e.g. {@code /orders/:id<long>}.
+     *
+     * @throws IllegalArgumentException if a parameter is malformed, repeated or of an unknown type
+     */
+    static RoutePattern parse(Navigator.Route route) {
+        String url = RouteTable.normalize(route.getFullUrl());
+        String[] segments = url.equals("/") ? new String[0] : url.substring(1).split("/");
+        String[] literals = new String[segments.length];
+        int[] parameterAt = new int[segments.length];
+        List<String> names = new ArrayList<>();
+        List<Type> types = new ArrayList<>();
+        List<Enum<?>[]> constants = new ArrayList<>();
+        StringBuilder signature = new StringBuilder();
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (!segment.startsWith(":")) {
+                literals[i] = segment;
+                parameterAt[i] = -1;
+                signature.append('/').append(segment);
+                continue;
+            }
+            int open = segment.indexOf('<');
+            String name = open < 0 ? segment.substring(1) : segment.substring(1, open);
+            if (!name.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+                throw new IllegalArgumentException("Route " + url + " has an invalid parameter name: " + segment);
+            }
+            if (names.contains(name)) {
+                throw new IllegalArgumentException("Route " + url + " repeats parameter :" + name);
+            }
+            Type type = Type.STRING;
+            if (open >= 0) {
+                type = segment.endsWith(">") ? Type.of(segment.substring(open + 1, segment.length() - 1)) : null;
+                if (type == null) {
+                    throw new IllegalArgumentException("Route " + url + " has an unknown parameter type: " + segment
+                            + " (use string, int, long, double, boolean or uuid)");
+                }
+            }
+            Class<? extends Enum<?>> enumType = route.enumParams.get(name);
+            if (enumType != null) {
+                if (type != Type.STRING) {
+                    throw new IllegalArgumentException("Route " + url + " declares :" + name + " both as " + type.name().toLowerCase() + " and as " + enumType.getName());
+                }
+                type = Type.ENUM;
+            }
+            parameterAt[i] = names.size();
+            names.add(name);
+            types.add(type);
+            constants.add(enumType != null ? enumType.getEnumConstants() : null);
+            signature.append("/<").append(enumType != null ? enumType.getName() : type.name().toLowerCase()).append('>');
+        }
+        Set<String> undeclared = new HashSet<>(route.enumParams.keySet());
+        names.forEach(undeclared::remove);
+        if (!undeclared.isEmpty()) {
+            throw new IllegalArgumentException("Route " + url + " declares parameters that are not in its URL: " + undeclared);
+        }
+        return new RoutePattern(route, literals, parameterAt, names.toArray(String[]::new), types.toArray(Type[]::new),
+                constants.toArray(Enum<?>[][]::new), signature.length() == 0 ? "/" : signature.toString());
+    }
+
+    int segmentCount() {
+        return literals.length;
+    }
+
+    /**
+     * The URL with parameters reduced to their types; two routes with the same signature match the same URLs.
+     */
+    String signature() {
+        return signature;
+    }
+
+    private int rank(int segment) {
+        if (literals[segment] != null) {
+            return 0;
+        }
+        return types[parameterAt[segment]] == Type.STRING ? 2 : 1;
+    }
+
+    /**
+     * Matches the segments of a path, given by their bounds in it, and converts the parameters.
+     * The caller passes as many segments as the pattern has.
+     *
+     * @return the converted parameters, or null if a literal differs or a value doesn't convert
+     */
+    Params match(String path, int[] starts, int[] ends) {
+        for (int i = 0; i < literals.length; i++) {
+            String literal = literals[i];
+            if (literal != null && (ends[i] - starts[i] != literal.length()
+                    || !path.regionMatches(starts[i], literal, 0, literal.length()))) {
+                return null;
+            }
+        }
+        int[] bounds = new int[names.length * 2];
+        long[] values = new long[names.length];
+        Object[] objects = null;
+        for (int i = 0; i < literals.length; i++) {
+            int parameter = parameterAt[i];
+            if (parameter < 0) {
+                continue;
+            }
+            int from = starts[i];
+            int to = ends[i];
+            bounds[parameter * 2] = from;
+            bounds[parameter * 2 + 1] = to;
+            switch (types[parameter]) {
+                case STRING -> {
+                }
+                case INT, LONG -> {
+                    if (!isInteger(path, from, to)) {
+                        return null;
+                    }
+                    try {
+                        values[parameter] = types[parameter] == Type.INT
+                                ? Integer.parseInt(path, from, to, 10)
+                                : Long.parseLong(path, from, to, 10);
+                    } catch (NumberFormatException e) {
+                        // Out of range
+                        return null;
+                    }
+                }
+                case DOUBLE -> {
+                    if (!isDecimal(path, from, to)) {
+                        return null;
+                    }
+                    try {
+                        double value = Double.parseDouble(path.substring(from, to));
+                        if (!Double.isFinite(value)) {
+                            return null;
+                        }
+                        values[parameter] = Double.doubleToRawLongBits(value);
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                }
+                case BOOLEAN -> {
+                    if (to - from == 4 && path.regionMatches(true, from, "true", 0, 4)) {
+                        values[parameter] = 1;
+                    } else if (!(to - from == 5 && path.regionMatches(true, from, "false", 0, 5))) {
+                        return null;
+                    }
+                }
+                case UUID -> {
+                    UUID uuid = parseUuid(path, from, to);
+                    if (uuid == null) {
+                        return null;
+                    }
+                    objects = objects != null ? objects : new Object[names.length];
+                    objects[parameter] = uuid;
+                }
+                case ENUM -> {
+                    Enum<?> constant = findConstant(constants[parameter], path, from, to);
+                    if (constant == null) {
+                        return null;
+                    }
+                    objects = objects != null ? objects : new Object[names.length];
+                    objects[parameter] = constant;
+                }
+            }
+        }
+        return new Params(this, path, bounds, values, objects);
+    }
+
+    private static boolean isInteger(String path, int from, int to) {
+        int start = from < to && (path.charAt(from) == '-' || path.charAt(from) == '+') ? from + 1 : from;
+        if (start == to) {
+            return false;
+        }
+        for (int i = start; i < to; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Rules out what Double.parseDouble accepts beyond plain numbers: whitespace, NaN, Infinity, hex and type suffixes
+    private static boolean isDecimal(String path, int from, int to) {
+        if (from == to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = path.charAt(i);
+            if (!(c >= '0' && c <= '9' || c == '.' || c == '-' || c == '+' || c == 'e' || c == 'E')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Canonical 8-4-4-4-12 form only, read in place
+    private static UUID parseUuid(String path, int from, int to) {
+        if (to - from != 36) {
+            return null;
+        }
+        long mostSignificant = 0;
+        long leastSignificant = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = path.charAt(from + i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return null;
+                }
+                continue;
+            }
+            int digit = Character.digit(c, 16);
+            if (digit < 0) {
+                return null;
+            }
+            if (i < 18) {
+                mostSignificant = mostSignificant << 4 | digit;
+            } else {
+                leastSignificant = leastSignificant << 4 | digit;
+            }
+        }
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private static Enum<?> findConstant(Enum<?>[] constants, String path, int from, int to) {
+        for (Enum<?> constant : constants) {
+            String name = constant.name();
+            if (name.length() == to - from && path.regionMatches(true, from, name, 0, name.length())) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The parameters of a matched URL. Values keep pointing into the URL; strings are only cut out
+     * when asked for.
+     */
+    static final class Params {
+        private final RoutePattern pattern;
+        private final String path;
+        // Start and end of each value in the path
+        private final int[] bounds;
+        // int and long values, double bits and booleans as 0 or 1
+        private final long[] values;
+        // UUID and enum values, null if there are none
+        private final Object[] objects;
+        private Map<String, String> strings;
+
+        private Params(RoutePattern pattern, String path, int[] bounds, long[] values, Object[] objects) {
+            this.pattern = pattern;
+            this.path = path;
+            this.bounds = bounds;
+            this.values = values;
+            this.objects = objects;
+        }
+
+        Navigator.Route route() {
+            return pattern.route;
+        }
+
+        /**
+         * Index of the parameter, or -1 if the route has none with that name.
+         */
+        int index(String name) {
+            String[] names = pattern.names;
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Type type(int index) {
+            return pattern.types[index];
+        }
+
+        long value(int index) {
+            return values[index];
+        }
+
+        Object object(int index) {
+            return objects[index];
+        }
+
+        Map<String, String> asMap() {
+            if (strings == null) {
+                Map<String, String> map = new LinkedHashMap<>();
+                for (int i = 0; i < pattern.names.length; i++) {
+                    map.put(pattern.names[i], path.substring(bounds[i * 2], bounds[i * 2 + 1]));
+                }
+                strings = Collections.unmodifiableMap(map);
+            }
+            return strings;
+        }
+    }
+}
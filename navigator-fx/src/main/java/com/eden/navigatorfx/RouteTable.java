@@ -0,0 +1,297 @@
+package com.eden.navigatorfx.v2;
+
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+/**
+ * Immutable snapshot of the registered routes. Registering routes builds a new snapshot that the
+ * Navigator publishes with a single volatile write, so matching never locks and never sees a
+ * half-registered route. Routes are looked up by their normalized full URL in a single hash lookup;
+ * only URLs no route has literally are tried against the routes with path parameters, most specific first.
+ * Snapshots built by {@link Navigator#compile()}, and every snapshot derived from them, are validated.
+ */
+final class RouteTable {
+    static final RouteTable EMPTY = new RouteTable(List.of(), Map.of(), new RoutePattern[0][], Map.of(), false);
+
+    private final List<Navigator.Route> routes;
+    private final Map<String, Navigator.Route> byPath;
+    // Routes with path parameters by segment count, most specific first
+    private final RoutePattern[][] patterns;
+    private final Map<String, Navigator.Route> byName;
+    private final boolean validated;
+
+    private RouteTable(List<Navigator.Route> routes, Map<String, Navigator.Route> byPath, RoutePattern[][] patterns,
+                       Map<String, Navigator.Route> byName, boolean validated) {
+        this.routes = List.copyOf(routes);
+        this.byPath = Map.copyOf(byPath);
+        this.patterns = patterns;
+        this.byName = Map.copyOf(byName);
+        this.validated = validated;
+    }
+
+    // The query string, if any, takes no part in matching
+    Navigator.Route match(String url) {
+        int query = url.indexOf('?');
+        Navigator.Route route = byPath.get(normalize(query >= 0 ? url.substring(0, query) : url));
+        if (route != null || patterns.length == 0) {
+            return route;
+        }
+        RoutePattern.Params params = matchPattern(url);
+        return params != null ? params.route() : null;
+    }
+
+    /**
+     * Matches the request's URL, and hands it the converted path parameters if a route with
+     * parameters matches.
+     */
+    Navigator.Route match(NavRequest request) {
+        Navigator.Route route = byPath.get(normalize(request.url()));
+        if (route != null || patterns.length == 0) {
+            return route;
+        }
+        RoutePattern.Params params = matchPattern(request.url());
+        if (params == null) {
+            return null;
+        }
+        request.pathParams(params);
+        return params.route();
+    }
+
+    // Segments are located in place, skipping empty ones like normalize does
+    private RoutePattern.Params matchPattern(String url) {
+        int end = url.indexOf('?');
+        end = end < 0 ? url.length() : end;
+        int count = 0;
+        for (int i = 0; i < end; i++) {
+            if (url.charAt(i) != '/' && (i == 0 || url.charAt(i - 1) == '/')) {
+                count++;
+            }
+        }
+        if (count >= patterns.length || patterns[count].length == 0) {
+            return null;
+        }
+        int[] starts = new int[count];
+        int[] ends = new int[count];
+        int segment = 0;
+        for (int i = 0; i < end; i++) {
+            if (url.charAt(i) == '/') {
+                continue;
+            }
+            starts[segment] = i;
+            while (i < end && url.charAt(i) != '/') {
+                i++;
+            }
+            ends[segment++] = i;
+        }
+        for (RoutePattern pattern : patterns[count]) {
+            RoutePattern.Params params = pattern.match(url, starts, ends);
+            if (params != null) {
+                return params;
+            }
+        }
+        return null;
+    }
+
+    Navigator.Route named(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Every registered route, in registration order.
+     */
+    List<Navigator.Route> routes() {
+        return routes;
+    }
+
+    boolean isValidated() {
+        return validated;
+    }
+
+    /**
+     * Returns a new snapshot with the routes added, validated if this one is.
+     */
+    RouteTable with(List<Navigator.Route> added, BiFunction<Navigator.Route, String, URL> resolver, Executor executor) {
+        List<Navigator.Route> all = new ArrayList<>(routes);
+        all.addAll(added);
+        return validated ? compile(all, resolver, executor) : lenient(all);
+    }
+
+    /**
+     * Returns a new snapshot without the routes. Removing routes can't invalidate a table.
+     */
+    RouteTable without(Collection<Navigator.Route> removed) {
+        Set<Navigator.Route> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        gone.addAll(removed);
+        List<Navigator.Route> remaining = new ArrayList<>(routes);
+        remaining.removeIf(gone::contains);
+        RouteTable table = lenient(remaining);
+        return validated ? new RouteTable(table.routes, table.byPath, table.patterns, table.byName, true) : table;
+    }
+
+    /**
+     * Builds a table without validation; the first route defined for a URL or name wins.
+     *
+     * @throws IllegalArgumentException if the path parameters of a route are malformed
+     */
+    static RouteTable lenient(List<Navigator.Route> routes) {
+        Map<String, Navigator.Route> byPath = new HashMap<>();
+        Map<String, RoutePattern> bySignature = new LinkedHashMap<>();
+        Map<String, Navigator.Route> byName = new HashMap<>();
+        for (Navigator.Route route : routes) {
+            String path = normalize(route.getFullUrl());
+            if (RoutePattern.isPattern(path)) {
+                RoutePattern pattern = RoutePattern.parse(route);
+                bySignature.putIfAbsent(pattern.signature(), pattern);
+            } else {
+                byPath.putIfAbsent(path, route);
+            }
+            if (route.getName() != null) {
+                byName.putIfAbsent(route.getName(), route);
+            }
+        }
+        return new RouteTable(routes, byPath, index(bySignature.values()), byName, false);
+    }
+
+    private static RoutePattern[][] index(Collection<RoutePattern> patterns) {
+        int maxSegments = patterns.stream().mapToInt(RoutePattern::segmentCount).max().orElse(-1);
+        RoutePattern[][] bySegments = new RoutePattern[maxSegments + 1][];
+        for (int count = 0; count <= maxSegments; count++) {
+            int segments = count;
+            bySegments[count] = patterns.stream()
+                    .filter(pattern -> pattern.segmentCount() == segments)
+                    .sorted(RoutePattern.MOST_SPECIFIC_FIRST)
+                    .toArray(RoutePattern[]::new);
+        }
+        return bySegments;
+    }
+
+    /**
+     * Collapses repeated and trailing slashes, so "/a//b/" and "/a/b" address the same route.
+     */
+    static String normalize(String url) {
+        if (url == null) {
+            return "/";
+        }
+        StringBuilder normalized = new StringBuilder(url.length());
+        for (String segment : url.split("/")) {
+            if (!segment.isEmpty()) {
+                normalized.append('/').append(segment);
+            }
+        }
+        return normalized.length() == 0 ? "/" : normalized.toString();
+    }
+
+    /**
+     * Validates every defined route and freezes them into a table. Resource lookups run in parallel
+     * on the executor; all problems are collected and reported in a single exception.
+     */
+    static RouteTable compile(List<Navigator.Route> defined, BiFunction<Navigator.Route, String, URL> resolver, Executor executor) {
+        List<String> problems = new ArrayList<>();
+        Map<String, Navigator.Route> byPath = new LinkedHashMap<>();
+        Map<String, RoutePattern> bySignature = new LinkedHashMap<>();
+        Map<String, Navigator.Route> byName = new HashMap<>();
+        Map<String, String> lowerCasePaths = new HashMap<>();
+        // Each distinct resource is resolved once, however many routes share it (e.g. a layout)
+        Map<String, CompletableFuture<Boolean>> resources = new LinkedHashMap<>();
+        Map<String, List<String>> resourceUsers = new LinkedHashMap<>();
+
+        for (Navigator.Route route : defined) {
+            String path = normalize(route.getFullUrl());
+            if (RoutePattern.isPattern(path)) {
+                RoutePattern pattern;
+                try {
+                    pattern = RoutePattern.parse(route);
+                } catch (IllegalArgumentException e) {
+                    problems.add(e.getMessage());
+                    continue;
+                }
+                RoutePattern previous = bySignature.putIfAbsent(pattern.signature(), pattern);
+                if (previous != null) {
+                    problems.add("Routes matching the same URLs: " + previous.route.getFullUrl() + " and " + route.getFullUrl());
+                    continue;
+                }
+            } else {
+                Navigator.Route previous = byPath.putIfAbsent(path, route);
+                if (previous != null) {
+                    problems.add("Duplicate route for URL: " + path
+                            + (previous.getFullUrl().equals(route.getFullUrl()) ? "" : " (defined as " + previous.getFullUrl() + " and " + route.getFullUrl() + ")"));
+                    continue;
+                }
+                String other = lowerCasePaths.putIfAbsent(path.toLowerCase(Locale.ROOT), path);
+                if (other != null) {
+                    problems.add("Ambiguous routes differing only by case: " + other + " and " + path);
+                }
+                if (!route.enumParams.isEmpty()) {
+                    problems.add("Route " + path + " declares parameters " + route.enumParams.keySet() + " but its URL has none");
+                }
+            }
+            if (route.getName() != null) {
+                Navigator.Route named = byName.putIfAbsent(route.getName(), route);
+                if (named != null) {
+                    problems.add("Duplicate route name '" + route.getName() + "' for " + named.getFullUrl() + " and " + path);
+                }
+            }
+            if (route.fxmlPath == null && route.viewCreator == null) {
+                problems.add("Route " + path + " has no FXML path or view creator");
+            }
+            check(route, route.getLayoutPath(), "Layout file", path, resolver, executor, resources, resourceUsers);
+            // Resources of a view module can only be resolved once the module is loaded on first navigation
+            if (route.module == null) {
+                check(route, route.fxmlPath, "FXML file", path, resolver, executor, resources, resourceUsers);
+                for (String stylesheet : route.styles()) {
+                    check(route, stylesheet, "Stylesheet", path, resolver, executor, resources, resourceUsers);
+                }
+            }
+        }
+
+        RouteTable table = new RouteTable(defined, byPath, index(bySignature.values()), byName, true);
+        for (Navigator.Route route : table.routes) {
+            route.outlets().forEach((name, url) -> {
+                if (table.match(url) == null) {
+                    problems.add("Outlet '" + name + "' of " + route.getFullUrl() + " targets unknown route: " + url);
+                }
+            });
+        }
+        resources.forEach((key, found) -> {
+            if (!found.join()) {
+                problems.add(key + " not found, used by " + String.join(", ", resourceUsers.get(key)));
+            }
+        });
+        if (!problems.isEmpty()) {
+            throw new Navigator.RouteValidationException(problems);
+        }
+        return table;
+    }
+
+    private static void check(Navigator.Route route, String resource, String kind, String routePath, BiFunction<Navigator.Route, String, URL> resolver, Executor executor,
+                              Map<String, CompletableFuture<Boolean>> resources, Map<String, List<String>> resourceUsers) {
+        if (resource == null) {
+            return;
+        }
+        // Plugin routes resolve against their own class loader, so the same path may exist for one plugin only
+        String key = kind + " " + resource + (route.owner != null ? " (plugin " + route.owner + ")" : "");
+        resources.computeIfAbsent(key, ignored -> CompletableFuture.supplyAsync(() -> exists(route, resource, resolver), executor));
+        resourceUsers.computeIfAbsent(key, ignored -> new ArrayList<>()).add(routePath);
+    }
+
+    private static boolean exists(Navigator.Route route, String resource, BiFunction<Navigator.Route, String, URL> resolver) {
+        try {
+            if (resource.startsWith("file:")) {
+                return Files.exists(Path.of(URI.create(resource)));
+            }
+            if (resource.contains(":")) {
+                // Other absolute URLs (jar:, http:...) are resolved by JavaFX itself, don't probe them here
+                return true;
+            }
+            return resolver.apply(route, resource) != null;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
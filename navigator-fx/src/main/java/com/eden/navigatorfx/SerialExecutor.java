@@ -0,0 +1,47 @@
+package com.eden.navigatorfx.v2;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks one at a time, in submission order, on a shared executor. Submitting never blocks
+ * and at most one drain task is queued on the underlying executor. A task that throws is reported
+ * to the uncaught exception handler of the thread and the next task runs.
+ */
+class SerialExecutor implements Executor {
+    private final Supplier<? extends Executor> executor;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    SerialExecutor(Supplier<? extends Executor> executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        pending.offer(task);
+        if (draining.compareAndSet(false, true)) {
+            executor.get().execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            Runnable task;
+            while ((task = pending.poll()) != null) {
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    // A failing task must not stop the ones queued behind it; report it as the thread would
+                    Thread current = Thread.currentThread();
+                    current.getUncaughtExceptionHandler().uncaughtException(current, e);
+                }
+            }
+            draining.set(false);
+            // A task may have been queued after the last poll but before the flag was cleared
+        } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+    }
+}
@@ -0,0 +1,141 @@
+package com.eden.navigatorfx.v2;
+
+import javafx.animation.Animation;
+import javafx.animation.FadeTransition;
+import javafx.animation.TranslateTransition;
+import javafx.scene.CacheHint;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+
+/**
+ * Plays navigation transitions with a single set of reused animations. Starting a transition
+ * interrupts the one in flight and restores its node, so rapid navigation never stacks animations.
+ * Animated nodes are cached as bitmaps while moving; since transitions are time based, a slow pulse
+ * only skips frames instead of stretching the animation.
+ */
+class TransitionEngine {
+    private static final Duration FADE_DURATION = Duration.millis(500);
+    private static final Duration SLIDE_DURATION = Duration.millis(300);
+    private static final Duration CROSS_FADE_DURATION = Duration.millis(300);
+
+    private final FadeTransition fade = new FadeTransition(FADE_DURATION);
+    private final TranslateTransition slide = new TranslateTransition(SLIDE_DURATION);
+    private final FadeTransition crossFade = new FadeTransition(CROSS_FADE_DURATION);
+    private final ImageView overlay = new ImageView();
+
+    private Animation running;
+    private Node animatedNode;
+
+    TransitionEngine() {
+        fade.setOnFinished(event -> finish());
+        slide.setOnFinished(event -> finish());
+        crossFade.setOnFinished(event -> finish());
+        crossFade.setNode(overlay);
+        crossFade.setFromValue(1);
+        crossFade.setToValue(0);
+        overlay.setManaged(false);
+        // The snapshot sits on top of the new content but must never swallow its input
+        overlay.setMouseTransparent(true);
+    }
+
+    /**
+     * Captures the outgoing view for a cross-fade, or returns null if there is nothing to capture.
+     */
+    Image snapshot(Node outgoing) {
+        if (outgoing == null || outgoing.getScene() == null) {
+            return null;
+        }
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        return outgoing.snapshot(parameters, null);
+    }
+
+    /**
+     * Animates the incoming node. For layouts this is the content node only, never the layout shell.
+     */
+    void play(Node incoming, Navigator.TransitionType type, double width, Image outgoingSnapshot) {
+        interrupt();
+        if (incoming == null || type == null) {
+            return;
+        }
+        switch (type) {
+            case FADE:
+                start(fade, incoming);
+                fade.setFromValue(0);
+                fade.setToValue(1);
+                fade.playFromStart();
+                break;
+            case SLIDE_LEFT:
+            case SLIDE_RIGHT:
+                start(slide, incoming);
+                slide.setFromX(type == Navigator.TransitionType.SLIDE_LEFT ? width : -width);
+                slide.setToX(0);
+                slide.playFromStart();
+                break;
+            case CROSS_FADE:
+                if (outgoingSnapshot != null && incoming.getParent() instanceof Pane host) {
+                    overlay.setImage(outgoingSnapshot);
+                    overlay.relocate(incoming.getLayoutX(), incoming.getLayoutY());
+                    overlay.setOpacity(1);
+                    host.getChildren().add(overlay);
+                    start(crossFade, overlay);
+                    crossFade.playFromStart();
+                } else {
+                    // No container to stack the snapshot in (e.g. the scene root), fall back to a fade
+                    play(incoming, Navigator.TransitionType.FADE, width, null);
+                }
+                break;
+            case NONE:
+            default:
+                // No transition
+                break;
+        }
+    }
+
+    /**
+     * Stops the transition in flight, leaving its node in its final state.
+     */
+    void interrupt() {
+        if (running != null && running.getStatus() == Animation.Status.RUNNING) {
+            running.stop();
+        }
+        finish();
+    }
+
+    private void start(Animation animation, Node node) {
+        running = animation;
+        animatedNode = node;
+        if (animation == fade) {
+            fade.setNode(node);
+        } else if (animation == slide) {
+            slide.setNode(node);
+        }
+        node.setCache(true);
+        node.setCacheHint(CacheHint.SPEED);
+    }
+
+    private void finish() {
+        if (animatedNode != null) {
+            animatedNode.setCache(false);
+            animatedNode.setCacheHint(CacheHint.DEFAULT);
+            if (animatedNode != overlay) {
+                animatedNode.setOpacity(1);
+                animatedNode.setTranslateX(0);
+            }
+        }
+        if (overlay.getParent() instanceof Pane host) {
+            host.getChildren().remove(overlay);
+        }
+        overlay.setImage(null);
+        // Release the node so finished transitions keep no view alive
+        fade.setNode(null);
+        slide.setNode(null);
+        animatedNode = null;
+        running = null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.eden.navigatorfx.v2;
+
+import java.lang.module.ModuleFinder;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * View modules that routes load on first navigation (see {@link Navigator.Route#module(String, Path...)}),
+ * so their classes stay off the startup module path. Each module is loaded once, into a new module
+ * layer when the Navigator runs as a named module and into its own class loader otherwise, and its
+ * class loader is kept for every later navigation.
+ */
+class ViewModules {
+
+    /**
+     * Name of the module with the route's views and controllers, and the jars to find it and its
+     * dependencies in.
+     */
+    record Coordinates(String name, List<Path> modulePath) {
+    }
+
+    private final Map<String, CompletableFuture<ClassLoader>> modules = new ConcurrentHashMap<>();
+
+    boolean isLoaded(Coordinates coordinates) {
+        CompletableFuture<ClassLoader> loading = modules.get(coordinates.name());
+        return loading != null && loading.isDone() && !loading.isCompletedExceptionally();
+    }
+
+    /**
+     * Returns the class loader of the module, loading it on the executor the first time. A failed load
+     * is forgotten, so the next navigation tries again.
+     */
+    CompletableFuture<ClassLoader> load(Coordinates coordinates, Executor executor) {
+        CompletableFuture<ClassLoader> loading = modules.computeIfAbsent(coordinates.name(),
+                name -> CompletableFuture.supplyAsync(() -> define(coordinates), executor));
+        loading.whenComplete((loader, error) -> {
+            if (error != null) {
+                modules.remove(coordinates.name(), loading);
+            }
+        });
+        return loading;
+    }
+
+    private static ClassLoader define(Coordinates coordinates) {
+        Path[] jars = coordinates.modulePath().toArray(Path[]::new);
+        Module navigatorModule = Plugin.class.getModule();
+        if (!navigatorModule.isNamed()) {
+            return PluginLoader.classLoader("navigator-view-" + coordinates.name(), jars);
+        }
+        ModuleFinder finder = ModuleFinder.of(jars);
+        if (finder.find(coordinates.name()).isEmpty()) {
+            throw new Navigator.ResourceNotFoundException("View module " + coordinates.name() + " not found in " + coordinates.modulePath());
+        }
+        ModuleLayer layer = PluginLoader.defineLayer(navigatorModule, finder, Set.of(coordinates.name()), false);
+        return layer.findLoader(coordinates.name());
+    }
+}
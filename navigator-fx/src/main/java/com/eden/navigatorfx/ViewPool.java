@@ -0,0 +1,67 @@
+package com.eden.navigatorfx.v2;
+
+import javafx.scene.Parent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Idle views and controllers of recycling routes (see {@link Navigator.Route#recycle(int)}), so
+ * showing such a route again only delivers a new {@link NavRequest} instead of building a new graph.
+ */
+class ViewPool {
+    private final Map<String, Deque<Navigator.LoadedView>> idle = new HashMap<>();
+    // Told about views the pool lets go of, which should become garbage
+    private final BiConsumer<String, Parent> dropped;
+
+    ViewPool(BiConsumer<String, Parent> dropped) {
+        this.dropped = dropped;
+    }
+
+    /**
+     * Takes an idle view of the route, or returns null if there is none.
+     */
+    Navigator.LoadedView poll(Navigator.Route route) {
+        Deque<Navigator.LoadedView> views = idle.get(route.getFullUrl());
+        return views != null ? views.pollFirst() : null;
+    }
+
+    /**
+     * Returns a view that is no longer shown, keeping at most the route's pool size.
+     */
+    void release(Navigator.Route route, Navigator.LoadedView loaded) {
+        // The next request is always delivered, even if it equals the last one
+        loaded.request = null;
+        if (loaded.controller instanceof BaseController controller) {
+            controller.onRecycle();
+        }
+        Deque<Navigator.LoadedView> views = idle.computeIfAbsent(route.getFullUrl(), url -> new ArrayDeque<>());
+        if (views.size() < route.recycleSize) {
+            views.addFirst(loaded);
+        } else {
+            dropped.accept(route.getFullUrl(), loaded.view);
+        }
+    }
+
+    void forEach(BiConsumer<String, Navigator.LoadedView> action) {
+        idle.forEach((url, views) -> views.forEach(loaded -> action.accept(url, loaded)));
+    }
+
+    /**
+     * Drops the idle views of a route that no longer exists.
+     */
+    void evict(String url) {
+        Deque<Navigator.LoadedView> views = idle.remove(url);
+        if (views != null) {
+            views.forEach(loaded -> dropped.accept(url, loaded.view));
+        }
+    }
+
+    void clear() {
+        forEach((url, loaded) -> dropped.accept(url, loaded.view));
+        idle.clear();
+    }
+}
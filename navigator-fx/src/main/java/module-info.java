@@ -4,6 +4,8 @@ module eden.navigatorfx {
     requires atlantafx.base;
     requires fr.brouillard.oss.cssfx;
     requires org.jetbrains.annotations;
+    requires java.desktop;
+    requires java.management;
 
 
     opens com.eden.navigatorfx to javafx.fxml;
@@ -18,4 +20,6 @@ module eden.navigatorfx {
     opens com.eden.navigatorfx.routing.utils to javafx.fxml;
     exports com.eden.navigatorfx.v2;
     exports com.eden.navigatorfx.v2.layout;
+
+    uses com.eden.navigatorfx.v2.Plugin;
 }
\ No newline at end of file
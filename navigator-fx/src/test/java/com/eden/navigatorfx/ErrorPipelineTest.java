@@ -0,0 +1,124 @@
+package com.eden.navigatorfx.v2;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorPipelineTest {
+
+    private final List<ErrorReport> reports = Collections.synchronizedList(new ArrayList<>());
+    // Reports run on the calling thread, so they are in the list as soon as report returns
+    private final ErrorPipeline pipeline = new ErrorPipeline(() -> Runnable::run);
+
+    ErrorPipelineTest() {
+        pipeline.setSink(reports::add);
+    }
+
+    @Test
+    void limitsReportsOfTheSameFailurePerWindow() {
+        pipeline.setRateLimit(2, Duration.ofHours(1));
+        IllegalStateException error = new IllegalStateException("broken");
+
+        assertTrue(pipeline.report("/orders", error));
+        assertTrue(pipeline.report("/orders", error));
+        assertFalse(pipeline.report("/orders", error));
+        assertFalse(pipeline.report("/orders", error));
+
+        assertEquals(2, reports.size());
+        assertSame(error, reports.get(0).error());
+        assertEquals("/orders", reports.get(0).url());
+    }
+
+    @Test
+    void reportsTheSuppressedCountOnceTheWindowIsOver() throws InterruptedException {
+        pipeline.setRateLimit(1, Duration.ofMillis(50));
+
+        assertTrue(pipeline.report("/orders", new IllegalStateException()));
+        assertFalse(pipeline.report("/orders", new IllegalStateException()));
+        assertFalse(pipeline.report("/orders", new IllegalStateException()));
+        Thread.sleep(100);
+        assertTrue(pipeline.report("/orders", new IllegalStateException()));
+
+        assertEquals(2, reports.size());
+        assertEquals(0, reports.get(0).suppressed());
+        assertEquals(2, reports.get(1).suppressed());
+        assertTrue(reports.get(1).format().contains("2 similar failures suppressed"), reports.get(1).format());
+    }
+
+    @Test
+    void limitsEachUrlAndExceptionClassOnItsOwn() {
+        pipeline.setRateLimit(1, Duration.ofHours(1));
+
+        assertTrue(pipeline.report("/orders", new IllegalStateException()));
+        assertTrue(pipeline.report("/items", new IllegalStateException()));
+        assertTrue(pipeline.report("/orders", new IllegalArgumentException()));
+        assertFalse(pipeline.report("/orders", new IllegalStateException()));
+
+        assertEquals(3, reports.size());
+    }
+
+    @Test
+    void forgetsTheFailuresThatHaventRecurredForTheLongest() {
+        pipeline.setRateLimit(1, Duration.ofHours(1));
+        assertTrue(pipeline.report("/first", new IllegalStateException()));
+        assertTrue(pipeline.report("/recurring", new IllegalStateException()));
+
+        for (int i = 0; i < 1024; i++) {
+            assertTrue(pipeline.report("/orders/" + i, new IllegalStateException()));
+            if (i % 100 == 0) {
+                assertFalse(pipeline.report("/recurring", new IllegalStateException()));
+            }
+        }
+
+        // The recurring failure is still tracked, the first one was dropped and may be reported again
+        assertFalse(pipeline.report("/recurring", new IllegalStateException()));
+        assertTrue(pipeline.report("/first", new IllegalStateException()));
+    }
+
+    @Test
+    void rejectsRateLimitsThatAllowNothing() {
+        assertThrows(IllegalArgumentException.class, () -> pipeline.setRateLimit(0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.setRateLimit(1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.setRateLimit(1, Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void keepsReportingWhenTheSinkFails() {
+        pipeline.setSink(report -> {
+            throw new IllegalStateException("sink is down");
+        });
+
+        assertDoesNotThrow(() -> pipeline.report("/orders", new IllegalStateException()));
+
+        pipeline.setSink(reports::add);
+        assertTrue(pipeline.report("/items", new IllegalStateException()));
+        assertEquals(1, reports.size());
+    }
+
+    @Test
+    void handlesExceptionsWithTheMostSpecificHandler() {
+        List<String> handled = new ArrayList<>();
+        pipeline.addHandler(Navigator.NavigationException.class, e -> handled.add("navigation"), null);
+        pipeline.addHandler(Navigator.RouteNotFoundException.class, e -> handled.add("not found"), "plugin");
+
+        assertTrue(pipeline.handle(new Navigator.RouteNotFoundException("/missing")));
+        assertTrue(pipeline.handle(new Navigator.ResourceNotFoundException("/missing.fxml")));
+        assertEquals(List.of("not found", "navigation"), handled);
+
+        pipeline.removeHandlersOwnedBy("plugin");
+        assertTrue(pipeline.handle(new Navigator.RouteNotFoundException("/missing")));
+        assertEquals(List.of("not found", "navigation", "navigation"), handled);
+    }
+
+    @Test
+    void leavesExceptionsWithoutAHandlerUnhandled() {
+        pipeline.addHandler(Navigator.RouteNotFoundException.class, e -> fail("Wrong handler"), null);
+
+        assertFalse(pipeline.handle(new Navigator.NavigationException("failed")));
+    }
+}
@@ -0,0 +1,103 @@
+package com.eden.navigatorfx.v2;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GuardCacheTest {
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private final GuardCache cache = new GuardCache();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Supplier<Navigator.RouteGuardResponse> guard = () -> {
+        calls.incrementAndGet();
+        return Navigator.RouteGuardResponse.allow();
+    };
+
+    @Test
+    void reusesADecisionWithinItsTtl() {
+        Navigator.RouteGuardResponse first = cache.decide("/orders/:id", "/orders/1", "alice", HOUR, guard);
+        Navigator.RouteGuardResponse second = cache.decide("/orders/:id", "/orders/1", "alice", HOUR, guard);
+
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void keysDecisionsByPathAndPrincipal() {
+        cache.decide("/orders/:id", "/orders/1", "alice", HOUR, guard);
+        cache.decide("/orders/:id", "/orders/2", "alice", HOUR, guard);
+        cache.decide("/orders/:id", "/orders/1", "bob", HOUR, guard);
+        cache.decide("/orders/:id", "/orders/1", null, HOUR, guard);
+        cache.decide("/orders/:id", "/orders/1", null, HOUR, guard);
+
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void asksTheGuardAgainOnceTheTtlIsOver() throws InterruptedException {
+        cache.decide("/reports", "/reports", "alice", Duration.ofMillis(20), guard);
+        Thread.sleep(50);
+        cache.decide("/reports", "/reports", "alice", Duration.ofMillis(20), guard);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void dropsDecisionsByPrincipalRouteOrAll() {
+        cache.decide("/orders/:id", "/orders/1", "alice", HOUR, guard);
+        cache.decide("/orders/:id", "/orders/1", "bob", HOUR, guard);
+        cache.decide("/reports", "/reports", "bob", HOUR, guard);
+
+        cache.invalidatePrincipal("alice");
+        cache.decide("/orders/:id", "/orders/1", "alice", HOUR, guard);
+        cache.decide("/orders/:id", "/orders/1", "bob", HOUR, guard);
+        assertEquals(4, calls.get());
+
+        cache.invalidateRoute("/orders/:id");
+        cache.decide("/orders/:id", "/orders/1", "bob", HOUR, guard);
+        cache.decide("/reports", "/reports", "bob", HOUR, guard);
+        assertEquals(5, calls.get());
+
+        cache.invalidateAll();
+        cache.decide("/reports", "/reports", "bob", HOUR, guard);
+        assertEquals(6, calls.get());
+    }
+
+    @Test
+    void dropsTheDecisionsSoonestToExpireBeyondTheBound() {
+        // Shortest TTL first, so it is the one to go when the cache overflows
+        cache.decide("/orders/:id", "/orders/0", "alice", HOUR, guard);
+        for (int i = 1; i <= 4096; i++) {
+            cache.decide("/orders/:id", "/orders/" + i, "alice", HOUR.multipliedBy(2), guard);
+        }
+        assertEquals(4097, calls.get());
+
+        cache.decide("/orders/:id", "/orders/4096", "alice", HOUR.multipliedBy(2), guard);
+        cache.decide("/orders/:id", "/orders/1", "alice", HOUR.multipliedBy(2), guard);
+        assertEquals(4097, calls.get());
+
+        cache.decide("/orders/:id", "/orders/0", "alice", HOUR, guard);
+        assertEquals(4098, calls.get());
+    }
+
+    @Test
+    void purgesExpiredDecisionsFirst() throws InterruptedException {
+        for (int i = 0; i < 4096; i++) {
+            cache.decide("/orders/:id", "/orders/" + i, "alice", Duration.ofMillis(1), guard);
+        }
+        cache.decide("/reports", "/reports", "alice", HOUR, guard);
+        Thread.sleep(20);
+        // Overflows the bound; the expired decisions go, the live ones stay
+        cache.decide("/settings", "/settings", "alice", HOUR, guard);
+        int before = calls.get();
+
+        cache.decide("/reports", "/reports", "alice", HOUR, guard);
+        cache.decide("/settings", "/settings", "alice", HOUR, guard);
+        assertEquals(before, calls.get());
+    }
+}
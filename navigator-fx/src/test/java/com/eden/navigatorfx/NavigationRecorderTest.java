@@ -0,0 +1,121 @@
+package com.eden.navigatorfx.v2;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NavigationRecorderTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final Path file;
+
+    NavigationRecorderTest() throws IOException {
+        file = Files.createTempFile("navigation", ".rec");
+        Files.delete(file);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        executor.shutdownNow();
+        Files.deleteIfExists(file);
+    }
+
+    private NavigationRecorder open() throws IOException {
+        return NavigationRecorder.open(file, () -> executor);
+    }
+
+    private static void assertEntry(NavigationRecorder.Entry entry, String url, String dataType, String outcome,
+                                    long totalNanos, long... phaseNanos) {
+        assertEquals(url, entry.url());
+        assertEquals(dataType, entry.dataType());
+        assertEquals(outcome, entry.outcome());
+        assertEquals(totalNanos, entry.totalNanos());
+        assertArrayEquals(phaseNanos, entry.phaseNanos());
+    }
+
+    @Test
+    void readsBackWhatWasRecorded() throws IOException {
+        long before = System.currentTimeMillis();
+        try (NavigationRecorder recorder = open()) {
+            recorder.record("/orders/42", "order", "completed", 1_500, new long[]{100, 200, 300});
+            recorder.record("/admin", null, "blocked", 20, new long[0]);
+            recorder.record("/missing", 7, "failed", 5, new long[]{5});
+        }
+
+        List<NavigationRecorder.Entry> entries = NavigationRecorder.read(file);
+
+        assertEquals(3, entries.size());
+        assertEntry(entries.get(0), "/orders/42", String.class.getName(), "completed", 1_500, 100, 200, 300);
+        assertEntry(entries.get(1), "/admin", null, "blocked", 20);
+        assertEntry(entries.get(2), "/missing", Integer.class.getName(), "failed", 5, 5);
+        assertTrue(entries.get(0).timestamp() >= before && entries.get(2).timestamp() <= System.currentTimeMillis());
+    }
+
+    @Test
+    void recordingIntoAnExistingFileAppendsToIt() throws IOException {
+        try (NavigationRecorder recorder = open()) {
+            recorder.record("/first", null, "completed", 1, new long[0]);
+        }
+        try (NavigationRecorder recorder = open()) {
+            recorder.record("/second", null, "completed", 2, new long[0]);
+        }
+
+        List<NavigationRecorder.Entry> entries = NavigationRecorder.read(file);
+
+        assertEquals(List.of("/first", "/second"), entries.stream().map(NavigationRecorder.Entry::url).toList());
+    }
+
+    @Test
+    void aRecordCutShortEndsTheRecording() throws IOException {
+        try (NavigationRecorder recorder = open()) {
+            recorder.record("/first", null, "completed", 1, new long[]{1, 2});
+            recorder.record("/second", null, "completed", 2, new long[]{3, 4});
+        }
+        byte[] bytes = Files.readAllBytes(file);
+
+        // Every cut inside the second record leaves only the first
+        int firstEnd = 5 + 8 + (2 + 6) + 2 + 1 + 8 + 1 + 2 * 8;
+        Files.write(file, Arrays.copyOf(bytes, firstEnd - 1));
+        assertTrue(NavigationRecorder.read(file).isEmpty());
+        for (int length = firstEnd; length < bytes.length; length++) {
+            Files.write(file, Arrays.copyOf(bytes, length));
+
+            List<NavigationRecorder.Entry> entries = NavigationRecorder.read(file);
+
+            assertEquals(1, entries.size(), "cut at " + length);
+            assertEntry(entries.get(0), "/first", null, "completed", 1, 1, 2);
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNotRecordings() throws IOException {
+        Files.writeString(file, "not a recording");
+        assertThrows(IOException.class, () -> NavigationRecorder.read(file));
+        assertThrows(IOException.class, this::open);
+
+        Files.write(file, new byte[]{0x4E, 0x41});
+        assertThrows(IOException.class, () -> NavigationRecorder.read(file));
+    }
+
+    @Test
+    void ignoresNavigationsRecordedAfterClosing() throws Exception {
+        NavigationRecorder recorder = open();
+        recorder.record("/first", null, "completed", 1, new long[0]);
+        recorder.close();
+        recorder.record("/second", null, "completed", 2, new long[0]);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, NavigationRecorder.read(file).size());
+    }
+}
@@ -0,0 +1,201 @@
+package com.eden.navigatorfx.v2;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PluginRegistryTest {
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    private final class TestPlugin implements Plugin {
+        private final String id;
+        private final Set<String> dependencies;
+        private Runnable initialization = () -> {
+        };
+
+        TestPlugin(String id, String... dependencies) {
+            this.id = id;
+            this.dependencies = Set.of(dependencies);
+        }
+
+        TestPlugin initializing(Runnable initialization) {
+            this.initialization = initialization;
+            return this;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public String name() {
+            return id;
+        }
+
+        @Override
+        public Set<String> dependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public void initialize() {
+            events.add("init " + id);
+            initialization.run();
+        }
+
+        @Override
+        public void registerRoutes(Navigator navigator) {
+            events.add("routes " + id);
+        }
+
+        @Override
+        public void shutdown() {
+            events.add("shutdown " + id);
+        }
+    }
+
+    private void assertBefore(String first, String second) {
+        assertTrue(events.indexOf(first) >= 0 && events.indexOf(first) < events.indexOf(second), events.toString());
+    }
+
+    @Test
+    void registersPluginsAfterTheirDependencies() {
+        PluginRegistry registry = new PluginRegistry();
+        TestPlugin a = new TestPlugin("a");
+        TestPlugin b = new TestPlugin("b", "a");
+        TestPlugin c = new TestPlugin("c", "b");
+
+        registry.register(null, null, c, b, a);
+
+        assertEquals(List.of(a, b, c), registry.plugins());
+        assertBefore("init a", "init b");
+        assertBefore("init b", "init c");
+        assertEquals(List.of("routes a", "routes b", "routes c"), events.stream().filter(event -> event.startsWith("routes")).toList());
+        assertEquals(Set.of("a", "b", "c"), registry.initTimes().keySet());
+    }
+
+    @Test
+    void dependenciesMayBeRegisteredEarlier() {
+        PluginRegistry registry = new PluginRegistry();
+        TestPlugin a = new TestPlugin("a");
+        TestPlugin b = new TestPlugin("b", "a");
+
+        registry.register(null, null, a);
+        registry.register(null, null, b);
+
+        assertEquals(List.of(a, b), registry.plugins());
+    }
+
+    @Test
+    void rejectsUnknownDependenciesCyclesAndDuplicates() {
+        PluginRegistry registry = new PluginRegistry();
+        TestPlugin a = new TestPlugin("a");
+        registry.register(null, null, a);
+
+        assertThrows(Navigator.NavigationException.class,
+                () -> registry.register(null, null, new TestPlugin("b", "missing")));
+        assertThrows(Navigator.NavigationException.class,
+                () -> registry.register(null, null, new TestPlugin("b", "c"), new TestPlugin("c", "b")));
+        assertThrows(Navigator.NavigationException.class,
+                () -> registry.register(null, null, new TestPlugin("a")));
+        assertThrows(Navigator.NavigationException.class,
+                () -> registry.register(null, null, new TestPlugin("d"), new TestPlugin("d")));
+
+        assertEquals(List.of(a), registry.plugins());
+        assertEquals(Set.of("a"), registry.initTimes().keySet());
+    }
+
+    @Test
+    void failedInitializationRollsBackTheWholeCall() {
+        PluginRegistry registry = new PluginRegistry();
+        TestPlugin a = new TestPlugin("a");
+        TestPlugin b = new TestPlugin("b").initializing(() -> {
+            throw new IllegalStateException("b is broken");
+        });
+        TestPlugin c = new TestPlugin("c", "b");
+
+        Navigator.NavigationException failure = assertThrows(Navigator.NavigationException.class,
+                () -> registry.register(null, null, a, b, c));
+
+        assertTrue(failure.getSuppressed().length >= 1);
+        assertTrue(registry.plugins().isEmpty());
+        assertTrue(registry.initTimes().isEmpty(), registry.initTimes().toString());
+        assertTrue(events.contains("shutdown a"), events.toString());
+        assertFalse(events.contains("init c"), events.toString());
+        assertFalse(events.contains("shutdown b"), events.toString());
+        assertTrue(events.stream().noneMatch(event -> event.startsWith("routes")), events.toString());
+    }
+
+    @Test
+    void initializesIndependentPluginsInParallel() {
+        PluginRegistry registry = new PluginRegistry();
+        registry.setParallelism(2);
+        // Each plugin waits for the other to start, which only works if both run at once
+        CountDownLatch started = new CountDownLatch(2);
+        Runnable meet = () -> {
+            started.countDown();
+            try {
+                if (!started.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Plugins were initialized one after the other");
+                }
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        registry.register(null, null, new TestPlugin("a").initializing(meet), new TestPlugin("b").initializing(meet));
+
+        assertEquals(2, registry.plugins().size());
+    }
+
+    @Test
+    void registerAsyncRegistersRoutesOnTheRegistrarInRequestOrder() throws Exception {
+        PluginRegistry registry = new PluginRegistry();
+        BlockingQueue<Runnable> registrar = new LinkedBlockingQueue<>();
+        TestPlugin a = new TestPlugin("a");
+        TestPlugin b = new TestPlugin("b", "a");
+
+        CompletableFuture<Void> first = registry.registerAsync(null, null, registrar::add, a);
+        CompletableFuture<Void> second = registry.registerAsync(null, null, registrar::add, b);
+
+        registrar.poll(5, TimeUnit.SECONDS).run();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(a), registry.plugins());
+        registrar.poll(5, TimeUnit.SECONDS).run();
+        second.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(a, b), registry.plugins());
+        // The second registration only started once the first was over
+        assertBefore("routes a", "init b");
+    }
+
+    @Test
+    void registerAsyncFailsWithoutRegisteringAnything() throws Exception {
+        PluginRegistry registry = new PluginRegistry();
+        TestPlugin broken = new TestPlugin("broken").initializing(() -> {
+            throw new IllegalStateException("broken");
+        });
+
+        CompletableFuture<Void> registration = registry.registerAsync(null, null, Runnable::run, broken);
+
+        Throwable failure = assertThrows(Exception.class, () -> registration.get(5, TimeUnit.SECONDS)).getCause();
+        assertTrue(failure instanceof Navigator.NavigationException, String.valueOf(failure));
+        assertTrue(registry.plugins().isEmpty());
+
+        // A failed registration doesn't hold up the next one
+        registry.registerAsync(null, null, Runnable::run, new TestPlugin("a")).get(5, TimeUnit.SECONDS);
+        assertEquals(1, registry.plugins().size());
+    }
+}
@@ -0,0 +1,142 @@
+package com.eden.navigatorfx.v2;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteTableTest {
+
+    enum Status { OPEN, CLOSED }
+
+    private static Navigator.Route route(String url) {
+        return new Navigator.Route(request -> null, url);
+    }
+
+    private static NavRequest request(String url) {
+        return new NavRequest(url, Map.of(), new HashMap<>(), null);
+    }
+
+    @Test
+    void literalsWinOverTypedParametersWhichWinOverStrings() {
+        Navigator.Route slug = route("/orders/:slug");
+        Navigator.Route id = route("/orders/:id<long>");
+        Navigator.Route create = route("/orders/new");
+        RouteTable table = RouteTable.lenient(List.of(slug, id, create));
+
+        assertSame(create, table.match(request("/orders/new")));
+        assertSame(id, table.match(request("/orders/42")));
+        assertSame(slug, table.match(request("/orders/latest")));
+        assertNull(table.match(request("/orders/42/lines")));
+    }
+
+    @Test
+    void valuesAreConvertedWhileMatching() {
+        RouteTable table = RouteTable.lenient(List.of(route("/orders/:id<long>/lines/:line<int>")));
+        NavRequest request = request("/orders//42/lines/7/");
+
+        assertNotNull(table.match(request));
+        assertEquals(42L, request.pathLong("id"));
+        assertEquals(42, request.pathInt("id"));
+        assertEquals(7, request.pathInt("line"));
+        assertEquals("42", request.path("id"));
+    }
+
+    @Test
+    void valuesOutOfRangeFallThroughToTheNextRoute() {
+        Navigator.Route id = route("/orders/:id<long>");
+        Navigator.Route slug = route("/orders/:slug");
+        Navigator.Route count = route("/items/:count<int>");
+        Navigator.Route name = route("/items/:name");
+        RouteTable table = RouteTable.lenient(List.of(id, slug, count, name));
+
+        assertSame(slug, table.match(request("/orders/99999999999999999999")));
+        assertSame(name, table.match(request("/items/3000000000")));
+        assertSame(count, table.match(request("/items/-2147483648")));
+    }
+
+    @Test
+    void pathIntRejectsLongValuesBeyondTheIntRange() {
+        RouteTable table = RouteTable.lenient(List.of(route("/orders/:id<long>")));
+        NavRequest request = request("/orders/3000000000");
+
+        assertNotNull(table.match(request));
+        assertEquals(3_000_000_000L, request.pathLong("id"));
+        assertThrows(IllegalArgumentException.class, () -> request.pathInt("id"));
+    }
+
+    @Test
+    void uuidEnumBooleanAndDoubleValuesAreConverted() {
+        RouteTable table = RouteTable.lenient(List.of(
+                route("/tickets/:id<uuid>/:status/:urgent<boolean>/:score<double>").param("status", Status.class)));
+        NavRequest request = request("/tickets/123e4567-e89b-12d3-a456-426614174000/closed/TRUE/-1.5e2");
+
+        assertNotNull(table.match(request));
+        assertEquals(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), request.pathUuid("id"));
+        assertEquals(Status.CLOSED, request.pathEnum("status", Status.class));
+        assertTrue(request.pathBoolean("urgent"));
+        assertEquals(-150.0, request.pathDouble("score"));
+    }
+
+    @Test
+    void valuesThatDontConvertDontMatch() {
+        RouteTable table = RouteTable.lenient(List.of(
+                route("/tickets/:id<uuid>/:status/:urgent<boolean>/:score<double>").param("status", Status.class)));
+        String uuid = "123e4567-e89b-12d3-a456-426614174000";
+
+        assertNull(table.match(request("/tickets/123e4567e89b12d3a456426614174000/open/true/1")));
+        assertNull(table.match(request("/tickets/" + uuid + "/pending/true/1")));
+        assertNull(table.match(request("/tickets/" + uuid + "/open/yes/1")));
+        assertNull(table.match(request("/tickets/" + uuid + "/open/true/NaN")));
+        assertNull(table.match(request("/tickets/" + uuid + "/open/true/1e400")));
+        assertNull(table.match(request("/tickets/" + uuid + "/open/true/0x1p3")));
+    }
+
+    @Test
+    void queryStringsTakeNoPartInMatching() {
+        Navigator.Route panel = route("/panels/properties");
+        Navigator.Route order = route("/orders/:id<long>");
+        RouteTable table = RouteTable.lenient(List.of(panel, order));
+
+        assertSame(panel, table.match("/panels/properties?expanded=true"));
+        assertSame(order, table.match("/orders/42?tab=lines"));
+    }
+
+    @Test
+    void invalidParameterTypesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RouteTable.lenient(List.of(route("/orders/:id<float>"))));
+        assertThrows(IllegalArgumentException.class, () -> RouteTable.lenient(List.of(route("/orders/:id<long"))));
+        assertThrows(IllegalArgumentException.class, () -> RouteTable.lenient(List.of(route("/orders/:id/:id"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> RouteTable.lenient(List.of(route("/orders/:id<long>").param("id", Status.class))));
+    }
+
+    @Test
+    void compileReportsConflictsAndInvalidTypesTogether() {
+        List<Navigator.Route> routes = List.of(
+                route("/orders/:id<long>"),
+                route("/orders/:number<long>"),
+                route("/orders/:slug"),
+                route("/items/:id<float>"));
+
+        Navigator.RouteValidationException failure = assertThrows(Navigator.RouteValidationException.class,
+                () -> RouteTable.compile(routes, (route, path) -> null, Runnable::run));
+
+        assertEquals(2, failure.problems().size(), failure.problems().toString());
+        assertTrue(failure.problems().get(0).contains("/orders/:id<long> and /orders/:number<long>"));
+        assertTrue(failure.problems().get(1).contains("unknown parameter type"));
+    }
+
+    @Test
+    void compileAcceptsRoutesThatDifferInType() {
+        RouteTable table = RouteTable.compile(List.of(route("/orders/:id<long>"), route("/orders/:slug")),
+                (route, path) -> null, Runnable::run);
+
+        assertTrue(table.isValidated());
+        assertEquals(2, table.routes().size());
+    }
+}
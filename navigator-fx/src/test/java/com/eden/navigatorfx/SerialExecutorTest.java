@@ -0,0 +1,81 @@
+package com.eden.navigatorfx.v2;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerialExecutorTest {
+
+    @Test
+    void runsTasksOneAtATimeInSubmissionOrder() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            SerialExecutor executor = new SerialExecutor(() -> pool);
+            List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger overlaps = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(1000);
+            for (int i = 0; i < 1000; i++) {
+                int task = i;
+                executor.execute(() -> {
+                    if (running.incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    order.add(task);
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(0, overlaps.get());
+            assertEquals(IntStream.range(0, 1000).boxed().toList(), order);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void keepsRunningAfterATaskThrows() throws InterruptedException {
+        List<Throwable> uncaught = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService pool = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setUncaughtExceptionHandler((failed, e) -> uncaught.add(e));
+            return thread;
+        });
+        try {
+            SerialExecutor executor = new SerialExecutor(() -> pool);
+            CountDownLatch done = new CountDownLatch(2);
+            executor.execute(() -> {
+                throw new IllegalStateException("first");
+            });
+            executor.execute(done::countDown);
+            executor.execute(() -> {
+                throw new AssertionError("second");
+            });
+            executor.execute(done::countDown);
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(2, uncaught.size());
+            assertEquals("first", uncaught.get(0).getMessage());
+            assertEquals("second", uncaught.get(1).getMessage());
+
+            // The executor is still usable afterwards
+            CountDownLatch later = new CountDownLatch(1);
+            executor.execute(later::countDown);
+            assertTrue(later.await(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}